@@ -0,0 +1,35 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.AvailableSlotSearchUseCase;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class AvailableSlotSearchService implements AvailableSlotSearchUseCase {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private final AvailableSlotRepository availableSlotRepository;
+
+    @Override
+    public List<AvailableSlot> search(Query query) {
+        Objects.requireNonNull(query, "Query cannot be null");
+        Instant from = query.from() != null ? query.from() : Instant.now();
+        int limit = query.limit() != null ? query.limit() : DEFAULT_LIMIT;
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and %d".formatted(MAX_LIMIT));
+        }
+        if (query.to() != null && !from.isBefore(query.to())) {
+            throw new IllegalArgumentException("From must be before to");
+        }
+        return availableSlotRepository.findAvailable(from, query.to(), limit);
+    }
+}
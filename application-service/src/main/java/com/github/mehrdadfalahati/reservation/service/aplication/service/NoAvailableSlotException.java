@@ -0,0 +1,14 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service;
+
+import java.time.Instant;
+
+/**
+ * No free slot exists at or after the requested time. A conflict like any other {@link IllegalStateException},
+ * but kept apart so that it can be counted separately from lost races.
+ */
+public class NoAvailableSlotException extends IllegalStateException {
+
+    public NoAvailableSlotException(Instant requestedTime) {
+        super("No available slots for %s".formatted(requestedTime));
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.idempotency.ReservationIdempotency;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCreateUseCase.Command;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.UserRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationViewCache;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Creates a batch of reservations in a single transaction: one slot assignment pass and one batched write
+ * per table. Commands that cannot be served (unknown user, no free slot) fail individually without
+ * affecting the rest of the batch, and commands repeating an idempotency key get the earlier reservation.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationBatchCreateService {
+
+    private final ReservationRepository reservationRepository;
+    private final AvailableSlotRepository availableSlotRepository;
+    private final UserRepository userRepository;
+    private final ReservationIdempotency reservationIdempotency;
+    private final ReservationViewCache reservationViewCache;
+
+    @Transactional
+    public List<Result> createAll(List<Command> commands) {
+        Objects.requireNonNull(commands, "Commands cannot be null");
+        Result[] results = new Result[commands.size()];
+
+        Map<UserId, Boolean> knownUsers = new HashMap<>();
+        List<Integer> accepted = new ArrayList<>();
+        List<Instant> requestedTimes = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int i = 0; i < commands.size(); i++) {
+            UserId userId = Objects.requireNonNull(commands.get(i).userId(), "UserId is required");
+            Optional<Reservation> previous;
+            try {
+                previous = commands.get(i).idempotencyKey() != null
+                        ? reservationIdempotency.findCompleted(commands.get(i))
+                        : Optional.empty();
+            } catch (IllegalArgumentException e) {
+                results[i] = Result.failed(e);
+                continue;
+            }
+            if (previous.isPresent()) {
+                results[i] = Result.created(previous.get());
+                continue;
+            }
+            if (!commands.get(i).trustedPrincipal()
+                    && !knownUsers.computeIfAbsent(userId, id -> userRepository.findById(id).isPresent())) {
+                results[i] = Result.failed(new IllegalArgumentException(
+                        "User %d not found".formatted(userId.value())));
+                continue;
+            }
+            accepted.add(i);
+            requestedTimes.add(commands.get(i).requestedTime() != null ? commands.get(i).requestedTime() : now);
+        }
+
+        List<Optional<AvailableSlot>> slots = availableSlotRepository.findAndLockNearestAvailableSlots(requestedTimes);
+        Instant reservedAt = Instant.now();
+
+        List<AvailableSlot> claimedSlots = new ArrayList<>();
+        List<Reservation> reservations = new ArrayList<>();
+        List<Integer> reservationOwners = new ArrayList<>();
+        for (int j = 0; j < accepted.size(); j++) {
+            int commandIndex = accepted.get(j);
+            Optional<AvailableSlot> slot = slots.get(j);
+            if (slot.isEmpty()) {
+                results[commandIndex] = Result.failed(new NoAvailableSlotException(requestedTimes.get(j)));
+                continue;
+            }
+            slot.get().setIsReserved(true);
+            claimedSlots.add(slot.get());
+            reservations.add(Reservation.create(commands.get(commandIndex).userId(), slot.get().getId(), reservedAt));
+            reservationOwners.add(commandIndex);
+        }
+
+        availableSlotRepository.saveAll(claimedSlots);
+        List<Reservation> saved = reservationRepository.saveAll(reservations);
+        for (int k = 0; k < saved.size(); k++) {
+            Command command = commands.get(reservationOwners.get(k));
+            reservationViewCache.created(saved.get(k));
+            if (command.idempotencyKey() != null) {
+                reservationIdempotency.record(command, saved.get(k));
+            }
+            results[reservationOwners.get(k)] = Result.created(saved.get(k));
+        }
+        return Arrays.asList(results);
+    }
+
+    public record Result(Reservation reservation, RuntimeException failure) {
+
+        static Result created(Reservation reservation) {
+            return new Result(reservation, null);
+        }
+
+        static Result failed(RuntimeException failure) {
+            return new Result(null, failure);
+        }
+    }
+}
@@ -3,44 +3,60 @@ package com.github.mehrdadfalahati.reservation.service.aplication.service;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCancelUseCase;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
-import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationViewCache;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Objects;
 
+/**
+ * Cancels with two updates and no reads: a conditional update of the reservation that checks owner and status
+ * and returns the row, then the release of its slot. The reservation is only loaded when the update matched
+ * nothing, to tell the caller why.
+ */
 @Service
 @RequiredArgsConstructor
 public class ReservationCancelService implements ReservationCancelUseCase {
 
     private final ReservationRepository reservationRepository;
     private final AvailableSlotRepository availableSlotRepository;
+    private final ReservationViewCache reservationViewCache;
 
     @Override
     @Transactional
     public Reservation cancel(Command command) {
         Objects.requireNonNull(command, "Command cannot be null");
         ReservationId reservationId = Objects.requireNonNull(command.reservationId(), "ReservationId is required");
+        UserId userId = Objects.requireNonNull(command.userId(), "UserId is required");
 
-        Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Reservation %s not found".formatted(reservationId.value())
-                ));
-
-        reservation.cancel();
+        Reservation reservation = reservationRepository.cancelActive(reservationId, userId, Instant.now())
+                .orElseThrow(() -> notCancellable(reservationId, userId));
 
-        AvailableSlot slot = availableSlotRepository.findById(reservation.getAvailableSlotId())
+        availableSlotRepository.release(reservation.getAvailableSlotId())
                 .orElseThrow(() -> new IllegalStateException(
                         "Available slot %d not found for reservation %s"
                                 .formatted(reservation.getAvailableSlotId().value(), reservationId.value())
                 ));
 
-        slot.setIsReserved(false);
-        availableSlotRepository.save(slot);
+        reservationViewCache.cancelled(reservation);
+        return reservation;
+    }
 
-        return reservationRepository.save(reservation);
+    private RuntimeException notCancellable(ReservationId reservationId, UserId userId) {
+        // someone else's reservation is reported as missing rather than revealing that it exists
+        return reservationRepository.findById(reservationId)
+                .filter(reservation -> reservation.getUserId().equals(userId))
+                .<RuntimeException>map(reservation -> new IllegalStateException(
+                        "Cannot cancel reservation %s with status %s. Only ACTIVE reservations can be cancelled."
+                                .formatted(reservationId.value(), reservation.getStatus())
+                ))
+                .orElseGet(() -> new IllegalArgumentException(
+                        "Reservation %s not found".formatted(reservationId.value())
+                ));
     }
 }
@@ -0,0 +1,202 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCreateUseCase;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group-commit stage in front of {@link ReservationCreateService}. Create commands arriving within a short
+ * window are handed to {@link ReservationBatchCreateService} as one batch, so a burst of requests costs one
+ * transaction and one commit instead of one each. Callers block until the batch has committed, for at most
+ * {@code timeout}; commands whose caller gave up before their batch started are not booked. Commands still queued
+ * when the worker stops are served on the caller's own transaction.
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(name = "reservation.create.batching.enabled", havingValue = "true")
+public class ReservationCreateBatcher implements ReservationCreateUseCase {
+
+    private final ReservationBatchCreateService reservationBatchCreateService;
+    private final ReservationCreateService reservationCreateService;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final BlockingQueue<PendingCreate> queue;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public ReservationCreateBatcher(ReservationBatchCreateService reservationBatchCreateService,
+                                    ReservationCreateService reservationCreateService,
+                                    @Value("${reservation.create.batching.window:PT0.005S}") Duration window,
+                                    @Value("${reservation.create.batching.max-batch-size:64}") int maxBatchSize,
+                                    @Value("${reservation.create.batching.queue-capacity:4096}") int queueCapacity,
+                                    @Value("${reservation.create.batching.timeout:PT30S}") Duration timeout,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.reservationBatchCreateService = reservationBatchCreateService;
+        this.reservationCreateService = reservationCreateService;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Thread.Builder workerBuilder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        this.worker = workerBuilder.name("reservation-create-batcher").unstarted(this::drainLoop);
+    }
+
+    @PostConstruct
+    void start() {
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Override
+    public Reservation create(Command command) {
+        Objects.requireNonNull(command, "Command cannot be null");
+        Objects.requireNonNull(command.userId(), "UserId is required");
+
+        PendingCreate pending = new PendingCreate(command, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            // saturated or shutting down: serve the request on the caller's own transaction
+            return reservationCreateService.createOne(command);
+        }
+        if (!running && queue.remove(pending)) {
+            // enqueued while the worker was stopping and never picked up
+            return reservationCreateService.createOne(command);
+        }
+        try {
+            return pending.result().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                return reservationCreateService.createOne(command);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            pending.result().cancel(false);
+            throw new CompletionException("Reservation create did not complete within %s".formatted(timeout), e);
+        } catch (InterruptedException e) {
+            pending.result().cancel(false);
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Interrupted while waiting for reservation create", e);
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingCreate> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingCreate first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    long deadline = System.nanoTime() + window.toNanos();
+                    while (batch.size() < maxBatchSize) {
+                        PendingCreate next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    if (running) {
+                        log.warn("Reservation create batcher interrupted, serving further creates directly");
+                        return;
+                    }
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+            }
+        } catch (Throwable e) {
+            log.error("Reservation create batcher stopped, serving further creates directly", e);
+            throw e;
+        } finally {
+            running = false;
+            rejectAll(batch);
+            List<PendingCreate> queued = new ArrayList<>();
+            queue.drainTo(queued);
+            rejectAll(queued);
+        }
+    }
+
+    private void flush(List<PendingCreate> batch) {
+        // callers that timed out have cancelled their future and must not be booked behind their back
+        batch.removeIf(pending -> pending.result().isDone());
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Command> commands = batch.stream().map(PendingCreate::command).toList();
+        List<ReservationBatchCreateService.Result> results;
+        try {
+            results = reservationBatchCreateService.createAll(commands);
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} reservation creates failed, retrying individually", batch.size(), e);
+            batch.forEach(this::createIndividually);
+            return;
+        } catch (Throwable e) {
+            log.error("Batch of {} reservation creates failed", batch.size(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            ReservationBatchCreateService.Result result = results.get(i);
+            if (result.failure() != null) {
+                batch.get(i).result().completeExceptionally(result.failure());
+            } else {
+                batch.get(i).result().complete(result.reservation());
+            }
+        }
+    }
+
+    private void createIndividually(PendingCreate pending) {
+        try {
+            pending.result().complete(reservationCreateService.createOne(pending.command()));
+        } catch (Throwable e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Hands commands the worker will not process back to their callers, which then create on their own.
+     */
+    private static void rejectAll(List<PendingCreate> pending) {
+        RejectedExecutionException rejected = new RejectedExecutionException("Reservation create batcher stopped");
+        pending.forEach(create -> create.result().completeExceptionally(rejected));
+    }
+
+    private record PendingCreate(Command command, CompletableFuture<Reservation> result) {}
+}
@@ -1,9 +1,11 @@
 package com.github.mehrdadfalahati.reservation.service.aplication.service;
 
+import com.github.mehrdadfalahati.reservation.service.aplication.service.idempotency.ReservationIdempotency;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCreateUseCase;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.UserRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationViewCache;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
@@ -13,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,17 +24,39 @@ public class ReservationCreateService implements ReservationCreateUseCase {
     private final ReservationRepository reservationRepository;
     private final AvailableSlotRepository availableSlotRepository;
     private final UserRepository userRepository;
+    private final ReservationIdempotency reservationIdempotency;
+    private final ReservationViewCache reservationViewCache;
 
     @Override
     @Transactional
     public Reservation create(Command command) {
+        return createOne(command);
+    }
+
+    /**
+     * {@link #create} for {@link ReservationCreateBatcher}, which serves single commands here when it cannot
+     * batch them. Not part of the use case port, so such a create is timed once, by the batcher's own
+     * {@code create}, rather than a second time here.
+     */
+    @Transactional
+    public Reservation createOne(Command command) {
         Objects.requireNonNull(command, "Command cannot be null");
         UserId userId = Objects.requireNonNull(command.userId(), "UserId is required");
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "User %d not found".formatted(userId.value())
-                ));
+        String idempotencyKey = command.idempotencyKey();
+        if (idempotencyKey != null) {
+            Optional<Reservation> previous = reservationIdempotency.findCompleted(command);
+            if (previous.isPresent()) {
+                return previous.get();
+            }
+        }
+
+        if (!command.trustedPrincipal()) {
+            userRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "User %d not found".formatted(userId.value())
+                    ));
+        }
 
         Instant requestedTime = command.requestedTime() != null
                 ? command.requestedTime()
@@ -39,9 +64,7 @@ public class ReservationCreateService implements ReservationCreateUseCase {
 
         AvailableSlot slot = availableSlotRepository
                 .findAndLockNearestAvailableSlot(requestedTime)
-                .orElseThrow(() -> new IllegalStateException(
-                        "No available slots for %s".formatted(requestedTime)
-                ));
+                .orElseThrow(() -> new NoAvailableSlotException(requestedTime));
 
         slot.setIsReserved(true);
         availableSlotRepository.save(slot);
@@ -52,6 +75,11 @@ public class ReservationCreateService implements ReservationCreateUseCase {
                 Instant.now()
         );
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        reservationViewCache.created(saved);
+        if (idempotencyKey != null) {
+            reservationIdempotency.record(command, saved);
+        }
+        return saved;
     }
 }
@@ -1,8 +1,11 @@
 package com.github.mehrdadfalahati.reservation.service.aplication.service;
 
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationListUseCase;
-import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
-import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationCriteria;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationViewRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationView;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationViewCache;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,13 +18,41 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class ReservationListService implements ReservationListUseCase {
 
-    private final ReservationRepository reservationRepository;
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 500;
+
+    private final ReservationViewRepository reservationViewRepository;
+    private final ReservationViewCache reservationViewCache;
 
     @Override
     @Transactional(readOnly = true)
-    public List<Reservation> list(Query query) {
+    public Page list(Query query) {
         Objects.requireNonNull(query, "Query cannot be null");
         UserId userId = Objects.requireNonNull(query.userId(), "UserId is required");
-        return reservationRepository.findByUserId(userId);
+        int limit = query.limit() != null ? query.limit() : DEFAULT_LIMIT;
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and %d".formatted(MAX_LIMIT));
+        }
+        if (query.from() != null && query.to() != null && !query.from().isBefore(query.to())) {
+            throw new IllegalArgumentException("From must be before to");
+        }
+
+        // one extra row tells whether another page follows without a count query
+        ReservationCriteria criteria = ReservationCriteria.builder()
+                .userId(userId)
+                .afterId(query.cursor())
+                .status(query.status())
+                .reservedFrom(query.from())
+                .reservedTo(query.to())
+                .limit(limit + 1)
+                .build();
+        List<ReservationView> reservations = reservationViewCache.find(criteria)
+                .orElseGet(() -> reservationViewRepository.findByCriteria(criteria));
+
+        if (reservations.size() <= limit) {
+            return new Page(reservations, null);
+        }
+        List<ReservationView> page = reservations.subList(0, limit);
+        return new Page(page, new ReservationId(page.get(limit - 1).id()));
     }
 }
@@ -0,0 +1,126 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.expiry;
+
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically expires ACTIVE reservations whose slot has ended. The reservations are read in keyset chunks
+ * of {@code chunk-size} and each chunk is expired with one bulk update on a worker thread. At most
+ * {@code concurrency} chunks are updated at a time and the reader pauses for {@code pause} between chunks, so a
+ * run holds at most {@code concurrency + 1} pooled connections and leaves the rest to live traffic. With
+ * {@code spring.threads.virtual.enabled} each chunk gets its own virtual thread; the semaphore still bounds them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reservation.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationExpiryJob {
+
+    private final ReservationExpiryService reservationExpiryService;
+    private final int chunkSize;
+    private final int concurrency;
+    private final Duration pause;
+    private final ExecutorService workers;
+    private final Semaphore inFlightChunks;
+
+    public ReservationExpiryJob(ReservationExpiryService reservationExpiryService,
+                                @Value("${reservation.expiry.chunk-size:500}") int chunkSize,
+                                @Value("${reservation.expiry.concurrency:1}") int concurrency,
+                                @Value("${reservation.expiry.pause:PT0.05S}") Duration pause,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (chunkSize < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("Expiry chunk size and concurrency must be positive");
+        }
+        this.reservationExpiryService = reservationExpiryService;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+        this.pause = pause;
+        this.workers = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("reservation-expiry-", 0).factory())
+                : Executors.newFixedThreadPool(concurrency,
+                        Thread.ofPlatform().name("reservation-expiry-", 0).daemon().factory());
+        this.inFlightChunks = new Semaphore(concurrency);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Scheduled(initialDelayString = "${reservation.expiry.initial-delay:PT1M}",
+            fixedDelayString = "${reservation.expiry.interval:PT1M}")
+    public void run() {
+        try {
+            int expired = expireEnded(Instant.now());
+            if (expired > 0) {
+                log.info("Expired {} reservations", expired);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Expires every reservation that is ACTIVE and whose slot ended before {@code cutoff}.
+     *
+     * @return the number of reservations expired
+     */
+    int expireEnded(Instant cutoff) throws InterruptedException {
+        AtomicInteger expired = new AtomicInteger();
+        ReservationId afterId = null;
+        try {
+            while (true) {
+                List<Reservation> chunk = reservationExpiryService.findExpirable(cutoff, afterId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.getLast().getId();
+                inFlightChunks.acquire();
+                try {
+                    CompletableFuture.supplyAsync(() -> reservationExpiryService.expire(chunk, cutoff), workers)
+                            .whenComplete((count, failure) -> {
+                                if (failure != null) {
+                                    // the chunk stays ACTIVE and is picked up again by the next run
+                                    log.warn("Expiring {} reservations failed", chunk.size(), failure);
+                                } else {
+                                    expired.addAndGet(count);
+                                }
+                                // only after counting, so the final acquire below sees every chunk's result
+                                inFlightChunks.release();
+                            });
+                } catch (RejectedExecutionException e) {
+                    // shutting down
+                    inFlightChunks.release();
+                    break;
+                }
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                if (!pause.isZero()) {
+                    TimeUnit.NANOSECONDS.sleep(pause.toNanos());
+                }
+            }
+        } finally {
+            // wait for the chunks still being updated
+            inFlightChunks.acquire(concurrency);
+            inFlightChunks.release(concurrency);
+        }
+        return expired.get();
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.expiry;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationViewCache;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Transactional steps of {@link ReservationExpiryJob}: reading one keyset chunk of expirable reservations, and
+ * expiring a chunk with a single bulk update.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationExpiryService {
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationViewCache reservationViewCache;
+
+    @Transactional(readOnly = true)
+    public List<Reservation> findExpirable(Instant cutoff, ReservationId afterId, int limit) {
+        return reservationRepository.findActiveWithSlotEndedBefore(cutoff, afterId, limit);
+    }
+
+    /**
+     * @return the number of reservations expired; reservations cancelled since they were read are skipped
+     */
+    @Transactional
+    public int expire(List<Reservation> reservations, Instant expiredAt) {
+        reservations.forEach(Reservation::markAsExpired);
+        int expired = reservationRepository.markExpired(reservations.stream().map(Reservation::getId).toList(), expiredAt);
+        reservationViewCache.expired(reservations, expiredAt);
+        return expired;
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.idempotency;
+
+/**
+ * An {@code Idempotency-Key} was reused with a different request payload. Rejected rather than replayed, since
+ * the earlier reservation does not answer the new request.
+ */
+public class IdempotencyKeyMismatchException extends IllegalArgumentException {
+
+    public IdempotencyKeyMismatchException(String idempotencyKey) {
+        super("Idempotency-Key %s was already used with a different request".formatted(idempotencyKey));
+    }
+}
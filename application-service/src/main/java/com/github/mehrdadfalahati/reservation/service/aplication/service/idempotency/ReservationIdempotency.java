@@ -0,0 +1,134 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCreateUseCase.Command;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.IdempotencyKeyRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.IdempotencyRecord;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Remembers which reservation each {@code Idempotency-Key} of a user produced, so that a retried create gets
+ * the original reservation back instead of booking another slot. Keys are looked up in a local cache first and
+ * then in {@link IdempotencyKeyRepository}; a key is recorded in the creating transaction and cached once that
+ * transaction commits. Keys expire after {@code ttl}.
+ * <p>
+ * Each key is bound to a fingerprint of the request payload, and reusing a key with a different payload fails
+ * with {@link IdempotencyKeyMismatchException}. A replay returns the reservation as it is now, not as it was
+ * first returned: once the reservation has been cancelled or has expired, retries get it in that state and no
+ * other slot is booked. Booking again takes a new key.
+ */
+@Slf4j
+@Component
+public class ReservationIdempotency {
+
+    static final int MAX_KEY_LENGTH = 64;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ReservationRepository reservationRepository;
+    private final Duration ttl;
+    private final Cache<Key, IdempotencyRecord> completed;
+
+    public ReservationIdempotency(IdempotencyKeyRepository idempotencyKeyRepository,
+                                  ReservationRepository reservationRepository,
+                                  @Value("${reservation.idempotency.ttl:PT24H}") Duration ttl,
+                                  @Value("${reservation.idempotency.cache.max-size:100000}") long maxSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.reservationRepository = reservationRepository;
+        this.ttl = ttl;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * The current state of the reservation an earlier request with the same key created.
+     *
+     * @throws IdempotencyKeyMismatchException when the earlier request had a different payload
+     */
+    public Optional<Reservation> findCompleted(Command command) {
+        Key key = key(command.userId(), command.idempotencyKey());
+        IdempotencyRecord found = completed.getIfPresent(key);
+        if (found == null) {
+            found = idempotencyKeyRepository
+                    .find(command.userId(), command.idempotencyKey(), Instant.now().minus(ttl))
+                    .orElse(null);
+            if (found == null) {
+                return Optional.empty();
+            }
+            completed.put(key, found);
+        }
+        if (found.requestFingerprint() != null && !found.requestFingerprint().equals(fingerprint(command))) {
+            throw new IdempotencyKeyMismatchException(command.idempotencyKey());
+        }
+        return reservationRepository.findById(found.reservationId());
+    }
+
+    public void record(Command command, Reservation reservation) {
+        Key key = key(command.userId(), command.idempotencyKey());
+        IdempotencyRecord record = new IdempotencyRecord(reservation.getId(), fingerprint(command));
+        Instant now = Instant.now();
+        idempotencyKeyRepository.save(command.userId(), command.idempotencyKey(), record, now, now.minus(ttl));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            completed.put(key, record);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                completed.put(key, record);
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${reservation.idempotency.purge-interval:PT10M}",
+            fixedDelayString = "${reservation.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    /**
+     * SHA-256 over the payload of a create request. The user is part of the key already, and a missing
+     * requested time (meaning "now") is kept distinct from any explicit one.
+     */
+    static String fingerprint(Command command) {
+        String payload = "requestedTime=" + Objects.toString(command.requestedTime(), "");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Key key(UserId userId, String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be between 1 and %d characters".formatted(MAX_KEY_LENGTH));
+        }
+        return new Key(userId, idempotencyKey);
+    }
+
+    private record Key(UserId userId, String idempotencyKey) {}
+}
@@ -0,0 +1,26 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.outbox;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxEventSink;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes outbox events as Spring application events, so in-process consumers can subscribe with
+ * {@code @EventListener(OutboxMessage.class)}. Listeners run on the relay thread, off the request path, inside
+ * the transaction that claimed the batch.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.outbox.sinks.application-event.enabled", havingValue = "true", matchIfMissing = true)
+public class ApplicationEventOutboxSink implements OutboxEventSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(OutboxMessage message) {
+        applicationEventPublisher.publishEvent(message);
+    }
+}
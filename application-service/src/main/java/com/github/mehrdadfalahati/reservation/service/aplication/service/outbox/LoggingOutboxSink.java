@@ -0,0 +1,23 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.outbox;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxEventSink;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every outbox event to this class's logger, for local testing. Point {@code logging.file.name} at a
+ * file to capture the stream.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reservation.outbox.sinks.log.enabled", havingValue = "true")
+public class LoggingOutboxSink implements OutboxEventSink {
+
+    @Override
+    public void publish(OutboxMessage message) {
+        log.info("{} #{} for {} at {}: {}",
+                message.eventType(), message.id(), message.aggregateId(), message.occurredOn(), message.payload());
+    }
+}
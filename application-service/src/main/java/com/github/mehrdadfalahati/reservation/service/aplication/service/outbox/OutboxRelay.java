@@ -0,0 +1,132 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.outbox;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxEventSink;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxMessage;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the reservation outbox to every {@link OutboxEventSink} in id order, in batches, and deletes what was
+ * delivered. Delivery is at-least-once: an event is removed only after all sinks accepted it, so a failing sink
+ * causes it to be re-sent to every sink on the next run.
+ * <p>
+ * Each batch is claimed, delivered and deleted in one transaction, and the claim skips rows locked by another
+ * transaction, so relays on several instances deliver disjoint batches instead of the same events twice. Order
+ * is then kept within a batch only. The lag gauge is taken from the first batch of each run; the pending count
+ * needs a full count and is refreshed every {@code pending-count-interval} instead.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "reservation.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final List<OutboxEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedEvents;
+    private final Counter failedRuns;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       List<OutboxEventSink> sinks,
+                       MeterRegistry meterRegistry,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${reservation.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${reservation.outbox.relay.max-batches-per-run:10}") int maxBatchesPerRun) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = List.copyOf(sinks);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        Gauge.builder("reservation.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        TimeGauge.builder("reservation.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest event waiting in the outbox")
+                .register(meterRegistry);
+        this.publishedEvents = Counter.builder("reservation.outbox.published")
+                .description("Events delivered to all sinks")
+                .register(meterRegistry);
+        this.failedRuns = Counter.builder("reservation.outbox.failures")
+                .description("Relay runs stopped by a failing sink")
+                .register(meterRegistry);
+        if (this.sinks.isEmpty()) {
+            log.warn("No outbox sinks are enabled; events will accumulate in the outbox");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.outbox.relay.interval:PT1S}")
+    public void relay() {
+        if (sinks.isEmpty()) {
+            return;
+        }
+        for (int run = 0; run < maxBatchesPerRun; run++) {
+            boolean first = run == 0;
+            if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch(first)))) {
+                break;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.outbox.relay.pending-count-interval:PT1M}")
+    public void refreshPending() {
+        pendingEvents.set(outboxRepository.countPending());
+        if (sinks.isEmpty()) {
+            // no batches are read, so the lag is not updated by relay()
+            lagMillis.set(outboxRepository.findOldestOccurredOn().map(this::ageMillis).orElse(0L));
+        }
+    }
+
+    /**
+     * @return {@code true} when a full batch was delivered and more events may be waiting
+     */
+    boolean relayBatch(boolean firstOfRun) {
+        List<OutboxMessage> batch = outboxRepository.claimOldest(batchSize);
+        if (firstOfRun) {
+            lagMillis.set(batch.isEmpty() ? 0L : ageMillis(batch.getFirst().occurredOn()));
+        }
+        List<Long> delivered = new ArrayList<>(batch.size());
+        boolean failed = false;
+        for (OutboxMessage message : batch) {
+            try {
+                sinks.forEach(sink -> sink.publish(message));
+            } catch (RuntimeException e) {
+                log.warn("Publishing outbox event {} ({}) failed, retrying on the next run",
+                        message.id(), message.eventType(), e);
+                failedRuns.increment();
+                failed = true;
+                break;
+            }
+            delivered.add(message.id());
+        }
+        if (!delivered.isEmpty()) {
+            outboxRepository.deleteAll(delivered);
+            publishedEvents.increment(delivered.size());
+        }
+        return !failed && batch.size() == batchSize;
+    }
+
+    private long ageMillis(Instant occurredOn) {
+        return Math.max(0, Duration.between(occurredOn, Instant.now()).toMillis());
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase;
+
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface AvailableSlotSearchUseCase {
+
+    List<AvailableSlot> search(Query query);
+
+    /**
+     * Free slots starting in {@code [from, to)}; {@code from} defaults to now and {@code to} is open-ended when
+     * {@code null}.
+     */
+    @Builder
+    record Query(Instant from, Instant to, Integer limit) {
+    }
+}
@@ -2,12 +2,16 @@ package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.
 
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import lombok.Builder;
 
 public interface ReservationCancelUseCase {
 
     Reservation cancel(Command command);
 
+    /**
+     * @param userId the caller; only their own reservations can be cancelled
+     */
     @Builder
-    record Command(ReservationId reservationId) {}
+    record Command(ReservationId reservationId, UserId userId) {}
 }
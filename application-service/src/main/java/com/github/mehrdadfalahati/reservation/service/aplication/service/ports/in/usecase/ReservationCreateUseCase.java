@@ -10,6 +10,12 @@ public interface ReservationCreateUseCase {
 
     Reservation create(Command command);
 
+    /**
+     * @param trustedPrincipal {@code userId} comes from an authenticated principal (a validated token), so the
+     *                         user is not looked up again; an unknown user is still rejected by the database
+     * @param idempotencyKey   optional client key; repeating a create with the same key returns the reservation
+     *                         the first one created
+     */
     @Builder
-    record Command(UserId userId, Instant requestedTime) {}
+    record Command(UserId userId, Instant requestedTime, boolean trustedPrincipal, String idempotencyKey) {}
 }
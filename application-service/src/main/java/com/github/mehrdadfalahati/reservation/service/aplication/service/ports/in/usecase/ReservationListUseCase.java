@@ -1,16 +1,34 @@
 package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase;
 
-import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationView;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import lombok.Builder;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface ReservationListUseCase {
 
-    List<Reservation> list(Query query);
+    Page list(Query query);
 
+    /**
+     * One page of a user's reservations in id order. {@code cursor} is the last id of the previous page;
+     * {@code status}, {@code from} (inclusive) and {@code to} (exclusive) filter on status and reservation time.
+     */
     @Builder
-    record Query(UserId userId) {
+    record Query(UserId userId,
+                 ReservationId cursor,
+                 Integer limit,
+                 ReservationStatus status,
+                 Instant from,
+                 Instant to) {
+    }
+
+    /**
+     * {@code nextCursor} is {@code null} on the last page.
+     */
+    record Page(List<ReservationView> reservations, ReservationId nextCursor) {
     }
 }
@@ -0,0 +1,45 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase;
+
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import lombok.Builder;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface SlotImportUseCase {
+
+    /**
+     * Inserts the streamed slots as free slots, one transaction per batch, consuming the stream as it goes.
+     * Stops at the first invalid slot; batches committed before it stay imported.
+     */
+    Result importSlots(Stream<AvailableSlot> slots);
+
+    Result importRule(Rule rule);
+
+    /**
+     * Back-to-back slots of {@code slotLength} between {@code dayStart} and {@code dayEnd} (local time in
+     * {@code zone}, default UTC) on every day from {@code from} to {@code to} inclusive, limited to
+     * {@code daysOfWeek} when given. A slot that would run past {@code dayEnd} is not generated.
+     */
+    @Builder
+    record Rule(LocalDate from,
+                LocalDate to,
+                LocalTime dayStart,
+                LocalTime dayEnd,
+                Duration slotLength,
+                Set<DayOfWeek> daysOfWeek,
+                ZoneId zone) {
+    }
+
+    record Result(long imported, Duration elapsed) {
+
+        public double slotsPerSecond() {
+            return elapsed.isZero() ? imported : imported * 1_000_000_000d / elapsed.toNanos();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event;
+
+/**
+ * Destination for events drained from the outbox. A sink that throws leaves the event in the outbox to be
+ * delivered again on the next relay run.
+ */
+public interface OutboxEventSink {
+
+    void publish(OutboxMessage message);
+}
@@ -0,0 +1,14 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event;
+
+import java.time.Instant;
+
+/**
+ * A domain event as stored in the outbox. {@code id} is unique and increasing per event, so consumers can use it
+ * to discard the duplicates that at-least-once delivery may produce; {@code payload} is the event as JSON.
+ */
+public record OutboxMessage(Long id,
+                            String aggregateId,
+                            String eventType,
+                            String payload,
+                            Instant occurredOn) {
+}
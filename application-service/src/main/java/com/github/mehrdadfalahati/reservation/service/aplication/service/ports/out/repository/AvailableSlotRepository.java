@@ -4,13 +4,44 @@ import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlo
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface AvailableSlotRepository {
 
     Optional<AvailableSlot> findAndLockNearestAvailableSlot(Instant requestedTime);
 
+    /**
+     * Claims the nearest free slot for each requested time within the current transaction.
+     * Every slot is handed out at most once; the result is aligned with {@code requestedTimes}.
+     */
+    List<Optional<AvailableSlot>> findAndLockNearestAvailableSlots(List<Instant> requestedTimes);
+
     AvailableSlot save(AvailableSlot slot);
 
+    List<AvailableSlot> saveAll(List<AvailableSlot> slots);
+
     Optional<AvailableSlot> findById(AvailableSlotId id);
+
+    /**
+     * Inserts new free slots with one JDBC batch, in a transaction of its own unless one is active. They can be
+     * claimed and are listed as available once that transaction commits.
+     *
+     * @return the number of slots inserted
+     */
+    int insertAll(List<AvailableSlot> slots);
+
+    /**
+     * Marks the slot free again with a single update, without loading it first.
+     *
+     * @return the released slot, or empty when there is no slot with this id
+     */
+    Optional<AvailableSlot> release(AvailableSlotId id);
+
+    /**
+     * Free slots starting in {@code [from, to)} ({@code to} may be {@code null}), earliest first. Served from an
+     * in-memory availability index without locking, so the result is a hint: a listed slot can still be taken
+     * by the time it is booked.
+     */
+    List<AvailableSlot> findAvailable(Instant from, Instant to, int limit);
 }
@@ -0,0 +1,24 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository;
+
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository {
+
+    /**
+     * The record of this user and key, if the key was recorded after {@code createdAfter}.
+     */
+    Optional<IdempotencyRecord> find(UserId userId, String idempotencyKey, Instant createdAfter);
+
+    /**
+     * Records the key in the current transaction. A record of the same key created at or before
+     * {@code expiredBefore} has expired but may not be purged yet; it is replaced.
+     *
+     * @throws IllegalStateException when the user already recorded this key, e.g. a concurrent retry
+     */
+    void save(UserId userId, String idempotencyKey, IdempotencyRecord record, Instant createdAt, Instant expiredBefore);
+
+    int deleteCreatedBefore(Instant cutoff);
+}
@@ -0,0 +1,10 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository;
+
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+
+/**
+ * What an idempotency key stands for: the reservation its first request created and a fingerprint of that
+ * request's payload. The fingerprint is {@code null} for keys recorded before fingerprints were stored.
+ */
+public record IdempotencyRecord(ReservationId reservationId, String requestFingerprint) {
+}
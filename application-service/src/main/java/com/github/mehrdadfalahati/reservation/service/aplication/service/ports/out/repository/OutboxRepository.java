@@ -0,0 +1,22 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxMessage;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxRepository {
+
+    /**
+     * The oldest events by id, locked until the current transaction ends. Events locked by another transaction,
+     * such as the relay of another instance, are skipped ({@code FOR UPDATE SKIP LOCKED}).
+     */
+    List<OutboxMessage> claimOldest(int limit);
+
+    void deleteAll(List<Long> ids);
+
+    long countPending();
+
+    Optional<Instant> findOldestOccurredOn();
+}
@@ -0,0 +1,21 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository;
+
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * Keyset query over a user's reservations: ids strictly after {@code afterId}, in ascending id order,
+ * at most {@code limit} rows. All filters except {@code userId} are optional.
+ */
+@Builder
+public record ReservationCriteria(UserId userId,
+                                  ReservationId afterId,
+                                  ReservationStatus status,
+                                  Instant reservedFrom,
+                                  Instant reservedTo,
+                                  int limit) {
+}
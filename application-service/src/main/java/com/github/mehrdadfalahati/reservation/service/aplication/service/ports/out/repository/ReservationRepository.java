@@ -4,6 +4,7 @@ import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,7 +12,30 @@ public interface ReservationRepository {
 
     Reservation save(Reservation reservation);
 
+    List<Reservation> saveAll(List<Reservation> reservations);
+
     Optional<Reservation> findById(ReservationId id);
 
     List<Reservation> findByUserId(UserId userId);
+
+    /**
+     * Cancels the reservation with one conditional update, provided it belongs to {@code userId} and is still
+     * ACTIVE, and records its {@code ReservationCancelledEvent} in the outbox.
+     *
+     * @return the reservation as updated, or empty when no ACTIVE reservation of that user has this id
+     */
+    Optional<Reservation> cancelActive(ReservationId id, UserId userId, Instant cancelledAt);
+
+    /**
+     * ACTIVE reservations whose slot ended before {@code cutoff}, with ids strictly after {@code afterId}
+     * (all when {@code null}), in ascending id order.
+     */
+    List<Reservation> findActiveWithSlotEndedBefore(Instant cutoff, ReservationId afterId, int limit);
+
+    /**
+     * Marks the given reservations EXPIRED in one statement, skipping any that are no longer ACTIVE.
+     *
+     * @return the number of reservations updated
+     */
+    int markExpired(List<ReservationId> ids, Instant expiredAt);
 }
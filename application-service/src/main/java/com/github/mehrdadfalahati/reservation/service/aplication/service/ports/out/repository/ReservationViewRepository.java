@@ -0,0 +1,14 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationView;
+
+import java.util.List;
+
+/**
+ * Read side of the reservations table for listing. Results are detached snapshots; use
+ * {@link ReservationRepository} to load a reservation that is going to be changed.
+ */
+public interface ReservationViewRepository {
+
+    List<ReservationView> findByCriteria(ReservationCriteria criteria);
+}
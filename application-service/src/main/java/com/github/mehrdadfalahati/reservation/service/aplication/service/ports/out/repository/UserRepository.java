@@ -1,6 +1,7 @@
 package com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository;
 
 import com.github.mehrdadfalahati.reservation.service.domain.entity.User;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Password;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Username;
 
@@ -10,4 +11,13 @@ public interface UserRepository {
 
     Optional<User> findById(UserId id);
     Optional<User> findByUsername(Username username);
+
+    /**
+     * Replaces the stored password hash with one conditional update, provided it is still {@code currentPassword},
+     * so that a rehash never overwrites a password changed in the meantime. {@code currentPassword} is the stored
+     * value exactly as read, which may be a legacy plain-text password that {@link Password} would not accept.
+     *
+     * @return whether the password was replaced
+     */
+    boolean replacePassword(Username username, String currentPassword, Password newPassword);
 }
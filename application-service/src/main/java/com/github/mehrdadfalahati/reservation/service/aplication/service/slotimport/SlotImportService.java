@@ -0,0 +1,113 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.slotimport;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.SlotImportUseCase;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Bulk-loads free slots. Slots are written in batches of {@code batch-size}, each batch as one JDBC batch
+ * insert in its own short transaction, so memory use does not depend on the size of the import and live
+ * claims, which only lock existing rows, never wait for it. Imported slots become claimable as each batch
+ * commits.
+ */
+@Slf4j
+@Service
+public class SlotImportService implements SlotImportUseCase {
+
+    private final AvailableSlotRepository availableSlotRepository;
+    private final int batchSize;
+
+    public SlotImportService(AvailableSlotRepository availableSlotRepository,
+                             @Value("${reservation.slots.import.batch-size:1000}") int batchSize) {
+        this.availableSlotRepository = availableSlotRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Result importSlots(Stream<AvailableSlot> slots) {
+        Objects.requireNonNull(slots, "Slots cannot be null");
+        long started = System.nanoTime();
+        long imported = 0;
+        List<AvailableSlot> batch = new ArrayList<>(batchSize);
+        Iterator<AvailableSlot> iterator = slots.iterator();
+        while (iterator.hasNext()) {
+            AvailableSlot slot = iterator.next();
+            validate(slot, imported + batch.size() + 1, imported);
+            batch.add(slot);
+            if (batch.size() == batchSize) {
+                imported += availableSlotRepository.insertAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += availableSlotRepository.insertAll(batch);
+        }
+        Result result = new Result(imported, Duration.ofNanos(System.nanoTime() - started));
+        log.info("Imported {} slots in {} ms ({} slots/s)",
+                result.imported(), result.elapsed().toMillis(), Math.round(result.slotsPerSecond()));
+        return result;
+    }
+
+    @Override
+    public Result importRule(Rule rule) {
+        return importSlots(generate(rule));
+    }
+
+    static Stream<AvailableSlot> generate(Rule rule) {
+        Objects.requireNonNull(rule, "Rule cannot be null");
+        if (rule.from() == null || rule.to() == null || rule.to().isBefore(rule.from())) {
+            throw new IllegalArgumentException("Rule needs a from date on or before its to date");
+        }
+        if (rule.dayStart() == null || rule.dayEnd() == null || !rule.dayStart().isBefore(rule.dayEnd())) {
+            throw new IllegalArgumentException("Rule needs a day start before its day end");
+        }
+        if (rule.slotLength() == null || rule.slotLength().isZero() || rule.slotLength().isNegative()) {
+            throw new IllegalArgumentException("Rule needs a positive slot length");
+        }
+        ZoneId zone = rule.zone() != null ? rule.zone() : ZoneOffset.UTC;
+        Set<DayOfWeek> days = rule.daysOfWeek() == null || rule.daysOfWeek().isEmpty()
+                ? EnumSet.allOf(DayOfWeek.class)
+                : EnumSet.copyOf(rule.daysOfWeek());
+        return rule.from().datesUntil(rule.to().plusDays(1))
+                .filter(date -> days.contains(date.getDayOfWeek()))
+                .flatMap(date -> slotsOf(date, rule, zone));
+    }
+
+    private static Stream<AvailableSlot> slotsOf(LocalDate date, Rule rule, ZoneId zone) {
+        Instant dayEnd = ZonedDateTime.of(date, rule.dayEnd(), zone).toInstant();
+        return Stream.iterate(ZonedDateTime.of(date, rule.dayStart(), zone).toInstant(),
+                        start -> !start.plus(rule.slotLength()).isAfter(dayEnd),
+                        start -> start.plus(rule.slotLength()))
+                .map(start -> AvailableSlot.builder()
+                        .startTime(start)
+                        .endTime(start.plus(rule.slotLength()))
+                        .isReserved(false)
+                        .build());
+    }
+
+    private static void validate(AvailableSlot slot, long position, long imported) {
+        if (slot.getStartTime() == null || slot.getEndTime() == null
+                || !slot.getStartTime().isBefore(slot.getEndTime())) {
+            throw new IllegalArgumentException(
+                    "Slot %d must start before it ends; %d slots were imported before it".formatted(position, imported));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.view;
+
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
+
+import java.time.Instant;
+
+/**
+ * Read-only row of a reservation list, flat enough to be serialized as the response as it is. Listing never
+ * builds {@link Reservation} aggregates: rows are projected straight into this record by the query.
+ */
+public record ReservationView(String id,
+                              Long userId,
+                              Long availableSlotId,
+                              ReservationStatus status,
+                              Instant reservedAt,
+                              Instant cancelledAt,
+                              Instant createdAt,
+                              Instant updatedAt) {
+
+    public static ReservationView of(Reservation reservation) {
+        return new ReservationView(
+                reservation.getId().value(),
+                reservation.getUserId().value(),
+                reservation.getAvailableSlotId().value(),
+                reservation.getStatus(),
+                reservation.getReservedAt(),
+                reservation.getCancelledAt(),
+                reservation.getCreatedAt(),
+                reservation.getUpdatedAt());
+    }
+
+    ReservationView expired(Instant expiredAt) {
+        return new ReservationView(id, userId, availableSlotId, ReservationStatus.EXPIRED,
+                reservedAt, cancelledAt, createdAt, expiredAt);
+    }
+}
@@ -0,0 +1,207 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.view;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationCriteria;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationViewRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Per-user reservation views behind {@code GET /api/reservations}. A user's reservations are loaded on their
+ * first list call and then kept current by this instance's writes: creates, cancels and expiries are applied to
+ * the view once their transaction commits instead of invalidating it, so users read their own writes from
+ * memory. At most {@code max-users} views are kept, and users with more than {@code max-reservations-per-user}
+ * reservations are remembered as oversized and read from the database until the entry expires. Hits and misses
+ * are published as {@code cache.gets{cache=reservation.views}}.
+ * <p>
+ * Views are only consistent for a single application instance. Writes made by other instances are not
+ * propagated (each outbox event is claimed by the relay of one instance, not broadcast), so they show up only
+ * when a view is reloaded {@code ttl} after it was loaded; keep {@code ttl} short when running more than one
+ * instance.
+ */
+@Component
+public class ReservationViewCache {
+
+    static final String CACHE_NAME = "reservation.views";
+
+    private final ReservationViewRepository reservationViewRepository;
+    private final int maxReservationsPerUser;
+    private final Cache<UserId, View> views;
+    private final View oversized = new View(new TreeMap<>());
+
+    public ReservationViewCache(ReservationViewRepository reservationViewRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${reservation.view-cache.max-users:10000}") long maxUsers,
+                                @Value("${reservation.view-cache.max-reservations-per-user:1000}") int maxReservationsPerUser,
+                                @Value("${reservation.view-cache.ttl:PT30S}") Duration ttl) {
+        this.reservationViewRepository = reservationViewRepository;
+        this.maxReservationsPerUser = maxReservationsPerUser;
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfter(expireAfterLoad(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, views, CACHE_NAME);
+    }
+
+    /**
+     * The user's reservations matching {@code criteria}, with the semantics of
+     * {@link ReservationViewRepository#findByCriteria}, or empty when the user has too many reservations to be
+     * cached.
+     */
+    public Optional<List<ReservationView>> find(ReservationCriteria criteria) {
+        View view = views.get(criteria.userId(), this::load);
+        return view == oversized ? Optional.empty() : Optional.of(view.find(criteria));
+    }
+
+    public void created(Reservation reservation) {
+        ReservationView row = ReservationView.of(reservation);
+        afterCommit(() -> views.asMap().computeIfPresent(reservation.getUserId(), (userId, view) -> view.with(row)));
+    }
+
+    /**
+     * Replaces the cancelled reservation in a loaded view. A view that does not contain it missed the create,
+     * made on another instance after the view was loaded, and is dropped so the next list call reloads it.
+     */
+    public void cancelled(Reservation reservation) {
+        ReservationView row = ReservationView.of(reservation);
+        afterCommit(() -> views.asMap().computeIfPresent(reservation.getUserId(), (userId, view) -> view.replace(row)));
+    }
+
+    /**
+     * Applies a bulk expiry; reservations that are no longer ACTIVE in a view, because they were cancelled in the
+     * meantime, keep their status as they did in the database.
+     */
+    public void expired(List<Reservation> reservations, Instant expiredAt) {
+        afterCommit(() -> reservations.forEach(reservation ->
+                views.asMap().computeIfPresent(reservation.getUserId(), (userId, view) -> view.expire(reservation.getId().value(), expiredAt))));
+    }
+
+    private View load(UserId userId) {
+        List<ReservationView> reservations = reservationViewRepository.findByCriteria(ReservationCriteria.builder()
+                .userId(userId)
+                .limit(maxReservationsPerUser + 1)
+                .build());
+        if (reservations.size() > maxReservationsPerUser) {
+            return oversized;
+        }
+        NavigableMap<String, ReservationView> byId = new TreeMap<>();
+        reservations.forEach(reservation -> byId.put(reservation.id(), reservation));
+        return new View(byId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Expiry<UserId, View> expireAfterLoad(Duration ttl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(UserId userId, View view, long currentTime) {
+                return ttl.toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(UserId userId, View view, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(UserId userId, View view, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    /**
+     * Immutable snapshot of one user's reservations in id order; updates return a new snapshot.
+     */
+    private final class View {
+
+        private final NavigableMap<String, ReservationView> byId;
+
+        private View(NavigableMap<String, ReservationView> byId) {
+            this.byId = byId;
+        }
+
+        List<ReservationView> find(ReservationCriteria criteria) {
+            NavigableMap<String, ReservationView> after = criteria.afterId() != null
+                    ? byId.tailMap(criteria.afterId().value(), false)
+                    : byId;
+            List<ReservationView> found = new ArrayList<>(Math.min(criteria.limit(), after.size()));
+            for (ReservationView reservation : after.values()) {
+                if (found.size() == criteria.limit()) {
+                    break;
+                }
+                if (matches(reservation, criteria)) {
+                    found.add(reservation);
+                }
+            }
+            return found;
+        }
+
+        /**
+         * @return the view with {@code reservation} added or replaced, or the oversized marker once the user
+         * outgrows {@code max-reservations-per-user}
+         */
+        View with(ReservationView reservation) {
+            if (this == oversized) {
+                return this;
+            }
+            NavigableMap<String, ReservationView> updated = new TreeMap<>(byId);
+            updated.put(reservation.id(), reservation);
+            return updated.size() > maxReservationsPerUser ? oversized : new View(updated);
+        }
+
+        /**
+         * @return the view with {@code reservation} replaced, or {@code null} (dropping the view) when it is not
+         * part of the view
+         */
+        View replace(ReservationView reservation) {
+            if (this == oversized) {
+                return this;
+            }
+            return byId.containsKey(reservation.id()) ? with(reservation) : null;
+        }
+
+        View expire(String id, Instant expiredAt) {
+            ReservationView cached = byId.get(id);
+            if (cached == null || cached.status() != ReservationStatus.ACTIVE) {
+                return this;
+            }
+            return with(cached.expired(expiredAt));
+        }
+
+        private static boolean matches(ReservationView reservation, ReservationCriteria criteria) {
+            return (criteria.status() == null || reservation.status() == criteria.status())
+                    && (criteria.reservedFrom() == null || !reservation.reservedAt().isBefore(criteria.reservedFrom()))
+                    && (criteria.reservedTo() == null || reservation.reservedAt().isBefore(criteria.reservedTo()));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.AvailableSlotSearchUseCase;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailableSlotSearchServiceTest {
+
+    @Mock
+    private AvailableSlotRepository availableSlotRepository;
+
+    private AvailableSlotSearchService availableSlotSearchService;
+
+    @BeforeEach
+    void setUp() {
+        availableSlotSearchService = new AvailableSlotSearchService(availableSlotRepository);
+    }
+
+    @Test
+    void shouldSearchRequestedRange() {
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-01-02T00:00:00Z");
+        AvailableSlot slot = AvailableSlot.builder()
+                .id(new AvailableSlotId(7L))
+                .startTime(from.plusSeconds(3600))
+                .endTime(from.plusSeconds(7200))
+                .isReserved(false)
+                .build();
+        when(availableSlotRepository.findAvailable(from, to, 10)).thenReturn(List.of(slot));
+
+        List<AvailableSlot> slots = availableSlotSearchService.search(AvailableSlotSearchUseCase.Query.builder()
+                .from(from)
+                .to(to)
+                .limit(10)
+                .build());
+
+        assertEquals(List.of(slot), slots);
+    }
+
+    @Test
+    void shouldDefaultToUpcomingSlotsWithDefaultLimit() {
+        when(availableSlotRepository.findAvailable(any(Instant.class), isNull(), eq(AvailableSlotSearchService.DEFAULT_LIMIT)))
+                .thenReturn(List.of());
+
+        assertTrue(availableSlotSearchService.search(AvailableSlotSearchUseCase.Query.builder().build()).isEmpty());
+    }
+
+    @Test
+    void shouldRejectEmptyRange() {
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        AvailableSlotSearchUseCase.Query query = AvailableSlotSearchUseCase.Query.builder()
+                .from(from)
+                .to(from)
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> availableSlotSearchService.search(query));
+    }
+
+    @Test
+    void shouldRejectLimitAboveMaximum() {
+        AvailableSlotSearchUseCase.Query query = AvailableSlotSearchUseCase.Query.builder()
+                .limit(AvailableSlotSearchService.MAX_LIMIT + 1)
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> availableSlotSearchService.search(query));
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.idempotency.ReservationIdempotency;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCreateUseCase;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.UserRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationViewCache;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.User;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationBatchCreateServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private AvailableSlotRepository availableSlotRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ReservationIdempotency reservationIdempotency;
+    @Mock
+    private ReservationViewCache reservationViewCache;
+
+    private ReservationBatchCreateService reservationBatchCreateService;
+
+    @BeforeEach
+    void setUp() {
+        reservationBatchCreateService = new ReservationBatchCreateService(
+                reservationRepository,
+                availableSlotRepository,
+                userRepository,
+                reservationIdempotency,
+                reservationViewCache
+        );
+    }
+
+    @Test
+    void shouldAssignSlotsAndSaveWholeBatchAtOnce() {
+        UserId userId = new UserId(1L);
+        Instant requestedTime = Instant.now().minusSeconds(60);
+        AvailableSlot first = slot(10L, requestedTime.plusSeconds(3600));
+        AvailableSlot second = slot(11L, requestedTime.plusSeconds(7200));
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).build()));
+        when(availableSlotRepository.findAndLockNearestAvailableSlots(List.of(requestedTime, requestedTime)))
+                .thenReturn(List.of(Optional.of(first), Optional.of(second)));
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ReservationBatchCreateService.Result> results = reservationBatchCreateService.createAll(List.of(
+                command(userId, requestedTime),
+                command(userId, requestedTime)
+        ));
+
+        assertEquals(2, results.size());
+        assertEquals(new AvailableSlotId(10L), results.get(0).reservation().getAvailableSlotId());
+        assertEquals(new AvailableSlotId(11L), results.get(1).reservation().getAvailableSlotId());
+        assertTrue(first.getIsReserved());
+        assertTrue(second.getIsReserved());
+        verify(userRepository, times(1)).findById(userId);
+        verify(availableSlotRepository).saveAll(List.of(first, second));
+    }
+
+    @Test
+    void shouldFailOnlyCommandsWithoutSlotOrUser() {
+        UserId knownUser = new UserId(1L);
+        UserId unknownUser = new UserId(99L);
+        Instant requestedTime = Instant.now().minusSeconds(60);
+        AvailableSlot slot = slot(10L, requestedTime.plusSeconds(3600));
+
+        when(userRepository.findById(knownUser)).thenReturn(Optional.of(User.builder().id(knownUser).build()));
+        when(userRepository.findById(unknownUser)).thenReturn(Optional.empty());
+        when(availableSlotRepository.findAndLockNearestAvailableSlots(List.of(requestedTime, requestedTime)))
+                .thenReturn(List.of(Optional.of(slot), Optional.empty()));
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ReservationBatchCreateService.Result> results = reservationBatchCreateService.createAll(List.of(
+                command(knownUser, requestedTime),
+                command(unknownUser, requestedTime),
+                command(knownUser, requestedTime)
+        ));
+
+        assertNotNull(results.get(0).reservation());
+        assertInstanceOf(IllegalArgumentException.class, results.get(1).failure());
+        assertInstanceOf(IllegalStateException.class, results.get(2).failure());
+        assertTrue(results.get(2).failure().getMessage().contains("No available slots"));
+    }
+
+    private ReservationCreateUseCase.Command command(UserId userId, Instant requestedTime) {
+        return ReservationCreateUseCase.Command.builder()
+                .userId(userId)
+                .requestedTime(requestedTime)
+                .build();
+    }
+
+    private AvailableSlot slot(Long id, Instant startTime) {
+        return AvailableSlot.builder()
+                .id(new AvailableSlotId(id))
+                .startTime(startTime)
+                .endTime(startTime.plusSeconds(1800))
+                .isReserved(false)
+                .build();
+    }
+}
@@ -3,10 +3,12 @@ package com.github.mehrdadfalahati.reservation.service.aplication.service;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCancelUseCase;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationViewCache;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,10 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,12 +34,14 @@ class ReservationCancelServiceTest {
     private ReservationRepository reservationRepository;
     @Mock
     private AvailableSlotRepository availableSlotRepository;
+    @Mock
+    private ReservationViewCache reservationViewCache;
 
     private ReservationCancelService reservationCancelService;
 
     @BeforeEach
     void setUp() {
-        reservationCancelService = new ReservationCancelService(reservationRepository, availableSlotRepository);
+        reservationCancelService = new ReservationCancelService(reservationRepository, availableSlotRepository, reservationViewCache);
     }
 
     @Test
@@ -41,41 +49,76 @@ class ReservationCancelServiceTest {
         ReservationId reservationId = new ReservationId("01HPQRSAMPLETESTCANCEL01");
         UserId userId = new UserId(1L);
         AvailableSlotId slotId = new AvailableSlotId(100L);
-        Reservation reservation = Reservation.create(reservationId, userId, slotId, Instant.now().minusSeconds(60));
+        Reservation cancelled = reservation(reservationId, userId, slotId, ReservationStatus.CANCELLED);
         AvailableSlot slot = AvailableSlot.builder()
                 .id(slotId)
                 .startTime(Instant.now().plusSeconds(3600))
                 .endTime(Instant.now().plusSeconds(7200))
-                .isReserved(true)
+                .isReserved(false)
                 .build();
 
-        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
-        when(availableSlotRepository.findById(slotId)).thenReturn(Optional.of(slot));
-        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(availableSlotRepository.save(any(AvailableSlot.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.cancelActive(eq(reservationId), eq(userId), any(Instant.class)))
+                .thenReturn(Optional.of(cancelled));
+        when(availableSlotRepository.release(slotId)).thenReturn(Optional.of(slot));
 
-        ReservationCancelUseCase.Command command = ReservationCancelUseCase.Command.builder()
-                .reservationId(reservationId)
-                .build();
+        Reservation result = reservationCancelService.cancel(command(reservationId, userId));
 
-        Reservation result = reservationCancelService.cancel(command);
-
-        assertTrue(result.isCancelled());
-        assertFalse(slot.getIsReserved());
+        assertSame(cancelled, result);
+        verify(availableSlotRepository).release(slotId);
+        verify(reservationRepository, never()).findById(any());
     }
 
     @Test
     void shouldThrowWhenReservationNotFound() {
-        ReservationCancelUseCase.Command command = ReservationCancelUseCase.Command.builder()
-                .reservationId(new ReservationId("UNKNOWN"))
-                .build();
+        ReservationId reservationId = new ReservationId("UNKNOWN");
+        UserId userId = new UserId(1L);
+        when(reservationRepository.cancelActive(eq(reservationId), eq(userId), any(Instant.class)))
+                .thenReturn(Optional.empty());
+        when(reservationRepository.findById(reservationId)).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
-                () -> reservationCancelService.cancel(command)
+                () -> reservationCancelService.cancel(command(reservationId, userId))
         );
 
         assertTrue(exception.getMessage().contains("Reservation"));
+        verifyNoInteractions(availableSlotRepository);
+    }
+
+    @Test
+    void shouldReportOtherUsersReservationAsNotFound() {
+        ReservationId reservationId = new ReservationId("01HPQRSAMPLETESTCANCEL02");
+        UserId owner = new UserId(1L);
+        UserId caller = new UserId(2L);
+        when(reservationRepository.cancelActive(eq(reservationId), eq(caller), any(Instant.class)))
+                .thenReturn(Optional.empty());
+        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(
+                reservation(reservationId, owner, new AvailableSlotId(100L), ReservationStatus.ACTIVE)));
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> reservationCancelService.cancel(command(reservationId, caller))
+        );
+
+        assertEquals("Reservation 01HPQRSAMPLETESTCANCEL02 not found", exception.getMessage());
+        verifyNoInteractions(availableSlotRepository);
+    }
+
+    @Test
+    void shouldThrowWhenReservationNoLongerActive() {
+        ReservationId reservationId = new ReservationId("01HPQRSAMPLETESTCANCEL03");
+        UserId userId = new UserId(1L);
+        when(reservationRepository.cancelActive(eq(reservationId), eq(userId), any(Instant.class)))
+                .thenReturn(Optional.empty());
+        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(
+                reservation(reservationId, userId, new AvailableSlotId(100L), ReservationStatus.CANCELLED)));
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> reservationCancelService.cancel(command(reservationId, userId))
+        );
+
+        assertTrue(exception.getMessage().contains("CANCELLED"));
     }
 
     @Test
@@ -83,20 +126,37 @@ class ReservationCancelServiceTest {
         ReservationId reservationId = new ReservationId("01HPQRSLOTMISSING123456");
         UserId userId = new UserId(5L);
         AvailableSlotId slotId = new AvailableSlotId(77L);
-        Reservation reservation = Reservation.create(reservationId, userId, slotId, Instant.now().minusSeconds(120));
-
-        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
-        when(availableSlotRepository.findById(slotId)).thenReturn(Optional.empty());
-
-        ReservationCancelUseCase.Command command = ReservationCancelUseCase.Command.builder()
-                .reservationId(reservationId)
-                .build();
+        when(reservationRepository.cancelActive(eq(reservationId), eq(userId), any(Instant.class)))
+                .thenReturn(Optional.of(reservation(reservationId, userId, slotId, ReservationStatus.CANCELLED)));
+        when(availableSlotRepository.release(slotId)).thenReturn(Optional.empty());
 
         IllegalStateException exception = assertThrows(
                 IllegalStateException.class,
-                () -> reservationCancelService.cancel(command)
+                () -> reservationCancelService.cancel(command(reservationId, userId))
         );
 
         assertTrue(exception.getMessage().contains("Available slot"));
     }
+
+    private ReservationCancelUseCase.Command command(ReservationId reservationId, UserId userId) {
+        return ReservationCancelUseCase.Command.builder()
+                .reservationId(reservationId)
+                .userId(userId)
+                .build();
+    }
+
+    private Reservation reservation(ReservationId id, UserId userId, AvailableSlotId slotId, ReservationStatus status) {
+        Instant now = Instant.now();
+        return Reservation.builder()
+                .id(id)
+                .userId(userId)
+                .availableSlotId(slotId)
+                .status(status)
+                .reservedAt(now.minusSeconds(60))
+                .cancelledAt(status == ReservationStatus.CANCELLED ? now : null)
+                .createdAt(now.minusSeconds(60))
+                .updatedAt(now)
+                .version(1L)
+                .build();
+    }
 }
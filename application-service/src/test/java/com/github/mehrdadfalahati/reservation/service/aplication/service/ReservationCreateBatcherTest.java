@@ -0,0 +1,155 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCreateUseCase;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationCreateBatcherTest {
+
+    @Mock
+    private ReservationBatchCreateService reservationBatchCreateService;
+    @Mock
+    private ReservationCreateService reservationCreateService;
+
+    private ReservationCreateBatcher reservationCreateBatcher;
+
+    @BeforeEach
+    void setUp() {
+        reservationCreateBatcher = new ReservationCreateBatcher(
+                reservationBatchCreateService,
+                reservationCreateService,
+                Duration.ofMillis(200),
+                2,
+                16,
+                Duration.ofSeconds(1),
+                false
+        );
+        reservationCreateBatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        reservationCreateBatcher.stop();
+    }
+
+    @Test
+    void shouldCompleteEachCallerFromOneBatch() {
+        Reservation first = reservation(1L, 10L);
+        Reservation second = reservation(2L, 11L);
+        when(reservationBatchCreateService.createAll(anyList())).thenAnswer(invocation -> {
+            List<ReservationCreateUseCase.Command> commands = invocation.getArgument(0);
+            return commands.stream()
+                    .map(command -> new ReservationBatchCreateService.Result(
+                            command.userId().equals(new UserId(1L)) ? first : second, null))
+                    .toList();
+        });
+
+        CompletableFuture<Reservation> callerA = CompletableFuture.supplyAsync(
+                () -> reservationCreateBatcher.create(command(1L)));
+        CompletableFuture<Reservation> callerB = CompletableFuture.supplyAsync(
+                () -> reservationCreateBatcher.create(command(2L)));
+
+        assertSame(first, callerA.join());
+        assertSame(second, callerB.join());
+        verify(reservationBatchCreateService).createAll(anyList());
+    }
+
+    @Test
+    void shouldRethrowPerCommandFailure() {
+        when(reservationBatchCreateService.createAll(anyList())).thenReturn(List.of(
+                new ReservationBatchCreateService.Result(null, new IllegalStateException("No available slots"))
+        ));
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> reservationCreateBatcher.create(command(1L))
+        );
+
+        assertEquals("No available slots", exception.getMessage());
+    }
+
+    @Test
+    void shouldFallBackToIndividualCreatesWhenBatchFails() {
+        Reservation reservation = reservation(1L, 10L);
+        when(reservationBatchCreateService.createAll(anyList())).thenThrow(new RuntimeException("commit failed"));
+        when(reservationCreateService.createOne(any(ReservationCreateUseCase.Command.class))).thenReturn(reservation);
+
+        Reservation result = reservationCreateBatcher.create(command(1L));
+
+        assertSame(reservation, result);
+    }
+
+    @Test
+    void shouldKeepWorkingAfterBatchThrowsError() {
+        Reservation reservation = reservation(1L, 10L);
+        when(reservationBatchCreateService.createAll(anyList()))
+                .thenThrow(new AssertionError("boom"))
+                .thenReturn(List.of(new ReservationBatchCreateService.Result(reservation, null)));
+
+        AssertionError error = assertThrows(AssertionError.class, () -> reservationCreateBatcher.create(command(1L)));
+        Reservation result = reservationCreateBatcher.create(command(1L));
+
+        assertEquals("boom", error.getMessage());
+        assertSame(reservation, result);
+    }
+
+    @Test
+    void shouldGiveUpWaitingAfterTimeout() {
+        when(reservationBatchCreateService.createAll(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(1500);
+            return List.of(new ReservationBatchCreateService.Result(reservation(1L, 10L), null));
+        });
+
+        CompletionException exception = assertThrows(
+                CompletionException.class,
+                () -> reservationCreateBatcher.create(command(1L))
+        );
+
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+    }
+
+    @Test
+    void shouldServeQueuedCreatesDirectlyAfterStop() throws InterruptedException {
+        Reservation reservation = reservation(1L, 10L);
+        reservationCreateBatcher.stop();
+        when(reservationCreateService.createOne(any(ReservationCreateUseCase.Command.class))).thenReturn(reservation);
+
+        Reservation result = reservationCreateBatcher.create(command(1L));
+
+        assertSame(reservation, result);
+        verify(reservationBatchCreateService, never()).createAll(anyList());
+    }
+
+    private ReservationCreateUseCase.Command command(Long userId) {
+        return ReservationCreateUseCase.Command.builder()
+                .userId(new UserId(userId))
+                .requestedTime(Instant.now())
+                .build();
+    }
+
+    private Reservation reservation(Long userId, Long slotId) {
+        return Reservation.create(new UserId(userId), new AvailableSlotId(slotId), Instant.now());
+    }
+}
@@ -1,9 +1,11 @@
 package com.github.mehrdadfalahati.reservation.service.aplication.service;
 
+import com.github.mehrdadfalahati.reservation.service.aplication.service.idempotency.ReservationIdempotency;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCreateUseCase;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.UserRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationViewCache;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.User;
@@ -23,6 +25,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +37,10 @@ class ReservationCreateServiceTest {
     private AvailableSlotRepository availableSlotRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ReservationIdempotency reservationIdempotency;
+    @Mock
+    private ReservationViewCache reservationViewCache;
 
     private ReservationCreateService reservationCreateService;
 
@@ -42,7 +49,9 @@ class ReservationCreateServiceTest {
         reservationCreateService = new ReservationCreateService(
                 reservationRepository,
                 availableSlotRepository,
-                userRepository
+                userRepository,
+                reservationIdempotency,
+                reservationViewCache
         );
     }
 
@@ -106,6 +115,32 @@ class ReservationCreateServiceTest {
         assertTrue(exception.getMessage().contains("User"));
     }
 
+    @Test
+    void shouldNotLookUpTrustedPrincipal() {
+        UserId userId = new UserId(1L);
+        Instant requestedTime = Instant.now().minusSeconds(60);
+        AvailableSlot slot = AvailableSlot.builder()
+                .id(new AvailableSlotId(10L))
+                .startTime(requestedTime.plusSeconds(3600))
+                .endTime(requestedTime.plusSeconds(7200))
+                .isReserved(false)
+                .build();
+
+        when(availableSlotRepository.findAndLockNearestAvailableSlot(requestedTime)).thenReturn(Optional.of(slot));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReservationCreateUseCase.Command command = ReservationCreateUseCase.Command.builder()
+                .userId(userId)
+                .requestedTime(requestedTime)
+                .trustedPrincipal(true)
+                .build();
+
+        Reservation result = reservationCreateService.create(command);
+
+        assertEquals(userId, result.getUserId());
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void shouldThrowWhenNoAvailableSlotFound() {
         UserId userId = new UserId(1L);
@@ -126,4 +161,49 @@ class ReservationCreateServiceTest {
 
         assertTrue(exception.getMessage().contains("No available slots"));
     }
+
+    @Test
+    void shouldReturnEarlierReservationForRepeatedIdempotencyKey() {
+        UserId userId = new UserId(1L);
+        Reservation previous = Reservation.create(
+                new ReservationId("01HPQRSAMPLETST01NPQ3D7T02"), userId, new AvailableSlotId(10L), Instant.now());
+        ReservationCreateUseCase.Command command = ReservationCreateUseCase.Command.builder()
+                .userId(userId)
+                .trustedPrincipal(true)
+                .idempotencyKey("retry-1")
+                .build();
+        when(reservationIdempotency.findCompleted(command)).thenReturn(Optional.of(previous));
+
+        Reservation result = reservationCreateService.create(command);
+
+        assertSame(previous, result);
+        verifyNoInteractions(availableSlotRepository, reservationRepository);
+    }
+
+    @Test
+    void shouldRecordIdempotencyKeyOfNewReservation() {
+        UserId userId = new UserId(1L);
+        Instant requestedTime = Instant.now().minusSeconds(60);
+        AvailableSlot slot = AvailableSlot.builder()
+                .id(new AvailableSlotId(10L))
+                .startTime(requestedTime.plusSeconds(3600))
+                .endTime(requestedTime.plusSeconds(7200))
+                .isReserved(false)
+                .build();
+
+        when(availableSlotRepository.findAndLockNearestAvailableSlot(requestedTime)).thenReturn(Optional.of(slot));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReservationCreateUseCase.Command command = ReservationCreateUseCase.Command.builder()
+                .userId(userId)
+                .requestedTime(requestedTime)
+                .trustedPrincipal(true)
+                .idempotencyKey("retry-1")
+                .build();
+        when(reservationIdempotency.findCompleted(command)).thenReturn(Optional.empty());
+
+        Reservation result = reservationCreateService.create(command);
+
+        verify(reservationIdempotency).record(command, result);
+    }
 }
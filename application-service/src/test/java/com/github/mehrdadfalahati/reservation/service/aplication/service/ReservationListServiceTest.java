@@ -1,14 +1,19 @@
 package com.github.mehrdadfalahati.reservation.service.aplication.service;
 
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationListUseCase;
-import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationCriteria;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationViewRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationView;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationViewCache;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -16,41 +21,85 @@ import java.time.Instant;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ReservationListServiceTest {
 
     @Mock
-    private ReservationRepository reservationRepository;
+    private ReservationViewRepository reservationViewRepository;
+    @Mock
+    private ReservationViewCache reservationViewCache;
 
     private ReservationListService reservationListService;
 
     @BeforeEach
     void setUp() {
-        reservationListService = new ReservationListService(reservationRepository);
+        reservationListService = new ReservationListService(reservationViewRepository, reservationViewCache);
     }
 
     @Test
     void shouldReturnReservationsForUser() {
         UserId userId = new UserId(1L);
-        Reservation reservation = Reservation.create(
+        ReservationView reservation = ReservationView.of(Reservation.create(
                 new ReservationId("01HPQRLSTSRVCTST01ABCDEFA"),
                 userId,
                 new AvailableSlotId(90L),
                 Instant.now().minusSeconds(90)
-        );
+        ));
 
-        when(reservationRepository.findByUserId(userId)).thenReturn(List.of(reservation));
+        when(reservationViewRepository.findByCriteria(any())).thenReturn(List.of(reservation));
 
         ReservationListUseCase.Query query = ReservationListUseCase.Query.builder()
                 .userId(userId)
                 .build();
 
-        List<Reservation> reservations = reservationListService.list(query);
+        ReservationListUseCase.Page page = reservationListService.list(query);
+
+        assertEquals(1, page.reservations().size());
+        assertEquals(userId.value(), page.reservations().get(0).userId());
+        assertNull(page.nextCursor());
+        ArgumentCaptor<ReservationCriteria> criteria = ArgumentCaptor.forClass(ReservationCriteria.class);
+        verify(reservationViewRepository).findByCriteria(criteria.capture());
+        assertEquals(ReservationListService.DEFAULT_LIMIT + 1, criteria.getValue().limit());
+    }
+
+    @Test
+    void shouldReturnCursorOfLastReservationWhenMoreRemain() {
+        UserId userId = new UserId(1L);
+        ReservationId cursor = new ReservationId("01HPQRLSTSRVCTST00000000A");
+        ReservationView first = reservation("01HPQRLSTSRVCTST00000000B", userId);
+        ReservationView second = reservation("01HPQRLSTSRVCTST00000000C", userId);
+        ReservationView third = reservation("01HPQRLSTSRVCTST00000000D", userId);
+
+        when(reservationViewRepository.findByCriteria(any())).thenReturn(List.of(first, second, third));
+
+        ReservationListUseCase.Page page = reservationListService.list(ReservationListUseCase.Query.builder()
+                .userId(userId)
+                .cursor(cursor)
+                .limit(2)
+                .status(ReservationStatus.ACTIVE)
+                .build());
 
-        assertEquals(1, reservations.size());
-        assertEquals(userId, reservations.get(0).getUserId());
+        assertEquals(List.of(first, second), page.reservations());
+        assertEquals(new ReservationId(second.id()), page.nextCursor());
+        ArgumentCaptor<ReservationCriteria> criteria = ArgumentCaptor.forClass(ReservationCriteria.class);
+        verify(reservationViewRepository).findByCriteria(criteria.capture());
+        assertEquals(cursor, criteria.getValue().afterId());
+        assertEquals(ReservationStatus.ACTIVE, criteria.getValue().status());
+        assertEquals(3, criteria.getValue().limit());
+    }
+
+    @Test
+    void shouldRejectLimitAboveMaximum() {
+        ReservationListUseCase.Query query = ReservationListUseCase.Query.builder()
+                .userId(new UserId(1L))
+                .limit(ReservationListService.MAX_LIMIT + 1)
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> reservationListService.list(query));
     }
 
     @Test
@@ -59,4 +108,9 @@ class ReservationListServiceTest {
 
         assertThrows(NullPointerException.class, () -> reservationListService.list(query));
     }
+
+    private ReservationView reservation(String id, UserId userId) {
+        return ReservationView.of(
+                Reservation.create(new ReservationId(id), userId, new AvailableSlotId(90L), Instant.now().minusSeconds(90)));
+    }
 }
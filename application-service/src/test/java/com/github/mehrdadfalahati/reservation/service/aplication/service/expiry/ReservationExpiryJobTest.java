@@ -0,0 +1,119 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.expiry;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationViewCache;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpiryJobTest {
+
+    private static final Instant CUTOFF = Instant.parse("2025-06-01T00:00:00Z");
+
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private ReservationViewCache reservationViewCache;
+
+    private ReservationExpiryJob reservationExpiryJob;
+
+    @BeforeEach
+    void setUp() {
+        reservationExpiryJob = new ReservationExpiryJob(
+                new ReservationExpiryService(reservationRepository, reservationViewCache), 2, 2, Duration.ZERO, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationExpiryJob.shutdown();
+    }
+
+    @Test
+    void shouldExpireEveryChunkContinuingFromLastId() throws InterruptedException {
+        Reservation first = reservation("01HPQREXPIRY0000000000001");
+        Reservation second = reservation("01HPQREXPIRY0000000000002");
+        Reservation third = reservation("01HPQREXPIRY0000000000003");
+        when(reservationRepository.findActiveWithSlotEndedBefore(CUTOFF, null, 2)).thenReturn(List.of(first, second));
+        when(reservationRepository.findActiveWithSlotEndedBefore(CUTOFF, second.getId(), 2)).thenReturn(List.of(third));
+        when(reservationRepository.markExpired(anyList(), eq(CUTOFF)))
+                .thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        int expired = reservationExpiryJob.expireEnded(CUTOFF);
+
+        assertEquals(3, expired);
+        verify(reservationRepository).markExpired(List.of(first.getId(), second.getId()), CUTOFF);
+        verify(reservationRepository).markExpired(List.of(third.getId()), CUTOFF);
+        assertTrue(first.isExpired());
+        assertTrue(third.isExpired());
+    }
+
+    @Test
+    void shouldCountOnlyReservationsStillActiveAtUpdate() throws InterruptedException {
+        Reservation first = reservation("01HPQREXPIRY0000000000001");
+        when(reservationRepository.findActiveWithSlotEndedBefore(CUTOFF, null, 2)).thenReturn(List.of(first));
+        when(reservationRepository.markExpired(List.of(first.getId()), CUTOFF)).thenReturn(0);
+
+        assertEquals(0, reservationExpiryJob.expireEnded(CUTOFF));
+    }
+
+    @Test
+    void shouldKeepGoingAfterFailedChunk() throws InterruptedException {
+        Reservation first = reservation("01HPQREXPIRY0000000000001");
+        Reservation second = reservation("01HPQREXPIRY0000000000002");
+        Reservation third = reservation("01HPQREXPIRY0000000000003");
+        when(reservationRepository.findActiveWithSlotEndedBefore(CUTOFF, null, 2)).thenReturn(List.of(first, second));
+        when(reservationRepository.findActiveWithSlotEndedBefore(CUTOFF, second.getId(), 2)).thenReturn(List.of(third));
+        when(reservationRepository.markExpired(List.of(first.getId(), second.getId()), CUTOFF))
+                .thenThrow(new IllegalStateException("connection lost"));
+        when(reservationRepository.markExpired(List.of(third.getId()), CUTOFF)).thenReturn(1);
+
+        assertEquals(1, reservationExpiryJob.expireEnded(CUTOFF));
+    }
+
+    @Test
+    void shouldExpireChunksOnVirtualThreads() throws InterruptedException {
+        ReservationExpiryJob virtualThreadJob = new ReservationExpiryJob(
+                new ReservationExpiryService(reservationRepository, reservationViewCache), 2, 2, Duration.ZERO, true);
+        Reservation first = reservation("01HPQREXPIRY0000000000001");
+        when(reservationRepository.findActiveWithSlotEndedBefore(CUTOFF, null, 2)).thenReturn(List.of(first));
+        when(reservationRepository.markExpired(List.of(first.getId()), CUTOFF)).thenAnswer(invocation -> {
+            assertTrue(Thread.currentThread().isVirtual());
+            return 1;
+        });
+
+        try {
+            assertEquals(1, virtualThreadJob.expireEnded(CUTOFF));
+        } finally {
+            virtualThreadJob.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRejectNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ReservationExpiryJob(
+                new ReservationExpiryService(reservationRepository, reservationViewCache), 0, 1, Duration.ZERO, false));
+    }
+
+    private Reservation reservation(String id) {
+        return Reservation.create(new ReservationId(id), new UserId(1L), new AvailableSlotId(1L),
+                Instant.parse("2025-01-01T00:00:00Z"));
+    }
+}
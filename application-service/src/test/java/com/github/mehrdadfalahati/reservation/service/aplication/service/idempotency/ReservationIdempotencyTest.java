@@ -0,0 +1,142 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.idempotency;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCreateUseCase.Command;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.IdempotencyKeyRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.IdempotencyRecord;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationIdempotencyTest {
+
+    private static final UserId USER = new UserId(1L);
+    private static final ReservationId RESERVATION_ID = new ReservationId("01HPQRSAMPLETST01NPQ3D7T02");
+    private static final Instant REQUESTED_TIME = Instant.parse("2024-01-01T09:00:00Z");
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationIdempotency reservationIdempotency;
+
+    @BeforeEach
+    void setUp() {
+        reservationIdempotency = new ReservationIdempotency(
+                idempotencyKeyRepository,
+                reservationRepository,
+                Duration.ofHours(24),
+                100
+        );
+    }
+
+    @Test
+    void shouldServeRecordedKeyFromCache() {
+        Reservation reservation = reservation();
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+
+        reservationIdempotency.record(command(USER, "retry-1", REQUESTED_TIME), reservation);
+
+        assertSame(reservation, reservationIdempotency.findCompleted(command(USER, "retry-1", REQUESTED_TIME)).orElseThrow());
+        verify(idempotencyKeyRepository).save(eq(USER), eq("retry-1"),
+                eq(new IdempotencyRecord(RESERVATION_ID, ReservationIdempotency.fingerprint(command(USER, "retry-1", REQUESTED_TIME)))),
+                any(Instant.class), any(Instant.class));
+        verify(idempotencyKeyRepository, never()).find(any(), any(), any());
+    }
+
+    @Test
+    void shouldLoadStoredKeyOnceAndCacheIt() {
+        Reservation reservation = reservation();
+        Command command = command(USER, "retry-1", REQUESTED_TIME);
+        when(idempotencyKeyRepository.find(eq(USER), eq("retry-1"), any(Instant.class)))
+                .thenReturn(Optional.of(new IdempotencyRecord(RESERVATION_ID, ReservationIdempotency.fingerprint(command))));
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+
+        assertSame(reservation, reservationIdempotency.findCompleted(command).orElseThrow());
+        assertSame(reservation, reservationIdempotency.findCompleted(command).orElseThrow());
+
+        verify(idempotencyKeyRepository, times(1)).find(eq(USER), eq("retry-1"), any(Instant.class));
+    }
+
+    @Test
+    void shouldReplayCurrentStateOfReservation() {
+        Reservation reservation = reservation();
+        Reservation cancelled = reservation();
+        cancelled.cancel();
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(cancelled));
+
+        reservationIdempotency.record(command(USER, "retry-1", REQUESTED_TIME), reservation);
+
+        Reservation replayed = reservationIdempotency.findCompleted(command(USER, "retry-1", REQUESTED_TIME)).orElseThrow();
+        assertEquals(ReservationStatus.CANCELLED, replayed.getStatus());
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentPayload() {
+        reservationIdempotency.record(command(USER, "retry-1", REQUESTED_TIME), reservation());
+
+        assertThrows(IdempotencyKeyMismatchException.class, () ->
+                reservationIdempotency.findCompleted(command(USER, "retry-1", REQUESTED_TIME.plusSeconds(3600))));
+        assertThrows(IdempotencyKeyMismatchException.class, () ->
+                reservationIdempotency.findCompleted(command(USER, "retry-1", null)));
+    }
+
+    @Test
+    void shouldReplayKeysStoredWithoutFingerprint() {
+        Reservation reservation = reservation();
+        when(idempotencyKeyRepository.find(eq(USER), eq("retry-1"), any(Instant.class)))
+                .thenReturn(Optional.of(new IdempotencyRecord(RESERVATION_ID, null)));
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+
+        assertSame(reservation, reservationIdempotency.findCompleted(command(USER, "retry-1", null)).orElseThrow());
+    }
+
+    @Test
+    void shouldScopeKeysToUser() {
+        reservationIdempotency.record(command(USER, "retry-1", REQUESTED_TIME), reservation());
+        when(idempotencyKeyRepository.find(eq(new UserId(2L)), eq("retry-1"), any(Instant.class)))
+                .thenReturn(Optional.empty());
+
+        assertTrue(reservationIdempotency.findCompleted(command(new UserId(2L), "retry-1", REQUESTED_TIME)).isEmpty());
+    }
+
+    @Test
+    void shouldRejectKeysOutsideAllowedLength() {
+        assertThrows(IllegalArgumentException.class, () -> reservationIdempotency.findCompleted(command(USER, " ", null)));
+        assertThrows(IllegalArgumentException.class, () -> reservationIdempotency.findCompleted(command(USER,
+                "k".repeat(ReservationIdempotency.MAX_KEY_LENGTH + 1), null)));
+    }
+
+    private Command command(UserId userId, String idempotencyKey, Instant requestedTime) {
+        return Command.builder()
+                .userId(userId)
+                .requestedTime(requestedTime)
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+
+    private Reservation reservation() {
+        return Reservation.create(RESERVATION_ID, USER, new AvailableSlotId(10L), Instant.now());
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.outbox;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxEventSink;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxMessage;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+    @Mock
+    private OutboxEventSink firstSink;
+    @Mock
+    private OutboxEventSink secondSink;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxRepository, List.of(firstSink, secondSink), meterRegistry,
+                transactionManager, 2, 10);
+    }
+
+    @Test
+    void shouldDeliverBatchesToAllSinksUntilOutboxIsDrained() {
+        OutboxMessage first = message(1L);
+        OutboxMessage second = message(2L);
+        OutboxMessage third = message(3L);
+        when(outboxRepository.claimOldest(2)).thenReturn(List.of(first, second), List.of(third));
+
+        outboxRelay.relay();
+
+        verify(firstSink).publish(first);
+        verify(secondSink).publish(third);
+        verify(outboxRepository).deleteAll(List.of(1L, 2L));
+        verify(outboxRepository).deleteAll(List.of(3L));
+        verify(outboxRepository, times(2)).claimOldest(2);
+        verify(transactionManager, times(2)).commit(any());
+        verify(outboxRepository, never()).countPending();
+        assertEquals(3.0, meterRegistry.get("reservation.outbox.published").counter().count());
+    }
+
+    @Test
+    void shouldKeepFailedEventAndEverythingAfterItForNextRun() {
+        OutboxMessage first = message(1L);
+        OutboxMessage second = message(2L);
+        when(outboxRepository.claimOldest(2)).thenReturn(List.of(first, second));
+        lenient().doThrow(new IllegalStateException("sink down")).when(secondSink).publish(second);
+
+        outboxRelay.relay();
+
+        verify(outboxRepository).deleteAll(List.of(1L));
+        verify(outboxRepository, times(1)).claimOldest(2);
+        assertEquals(1.0, meterRegistry.get("reservation.outbox.failures").counter().count());
+        assertTrue(meterRegistry.get("reservation.outbox.lag").timeGauge().value(TimeUnit.SECONDS) >= 60);
+    }
+
+    @Test
+    void shouldReportNoLagOnceOutboxIsEmpty() {
+        when(outboxRepository.claimOldest(2)).thenReturn(List.of(message(1L)), List.of());
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        assertEquals(0.0, meterRegistry.get("reservation.outbox.lag").timeGauge().value(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldCountPendingEventsOnlyWhenRefreshed() {
+        when(outboxRepository.countPending()).thenReturn(5L);
+
+        outboxRelay.refreshPending();
+
+        assertEquals(5.0, meterRegistry.get("reservation.outbox.pending").gauge().value());
+        verify(outboxRepository, never()).findOldestOccurredOn();
+    }
+
+    @Test
+    void shouldLeaveEventsInOutboxWhenNoSinkIsEnabled() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OutboxRelay relayWithoutSinks = new OutboxRelay(outboxRepository, List.of(), registry,
+                transactionManager, 2, 10);
+        when(outboxRepository.countPending()).thenReturn(3L);
+        when(outboxRepository.findOldestOccurredOn()).thenReturn(Optional.of(Instant.now().minusSeconds(60)));
+
+        relayWithoutSinks.relay();
+        relayWithoutSinks.refreshPending();
+
+        verify(outboxRepository, never()).claimOldest(any(Integer.class));
+        verify(outboxRepository, never()).deleteAll(any());
+        assertEquals(3.0, registry.get("reservation.outbox.pending").gauge().value());
+        assertTrue(registry.get("reservation.outbox.lag").timeGauge().value(TimeUnit.SECONDS) >= 60);
+    }
+
+    private OutboxMessage message(Long id) {
+        return new OutboxMessage(id, "01HPQROUTBOX000000000000" + id, "ReservationCreatedEvent", "{}",
+                Instant.now().minusSeconds(60));
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.slotimport;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.SlotImportUseCase;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SlotImportServiceTest {
+
+    @Mock
+    private AvailableSlotRepository availableSlotRepository;
+
+    private SlotImportService slotImportService;
+
+    @BeforeEach
+    void setUp() {
+        slotImportService = new SlotImportService(availableSlotRepository, 2);
+    }
+
+    @Test
+    void shouldInsertStreamedSlotsInBatches() {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(availableSlotRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<List<?>>getArgument(0).size());
+            return batchSizes.getLast();
+        });
+        Instant start = Instant.parse("2100-01-01T09:00:00Z");
+
+        SlotImportUseCase.Result result = slotImportService.importSlots(Stream.iterate(start, time -> time.plusSeconds(3600))
+                .limit(5)
+                .map(time -> slot(time, time.plusSeconds(3600))));
+
+        assertEquals(5, result.imported());
+        assertEquals(List.of(2, 2, 1), batchSizes);
+    }
+
+    @Test
+    void shouldStopAtFirstInvalidSlot() {
+        Instant start = Instant.parse("2100-01-01T09:00:00Z");
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> slotImportService.importSlots(Stream.of(slot(start, start.minusSeconds(60))))
+        );
+
+        assertTrue(exception.getMessage().contains("Slot 1"));
+        verifyNoInteractions(availableSlotRepository);
+    }
+
+    @Test
+    void shouldGenerateSlotsFromRecurringRule() {
+        SlotImportUseCase.Rule rule = SlotImportUseCase.Rule.builder()
+                .from(LocalDate.parse("2100-01-01"))
+                .to(LocalDate.parse("2100-01-03"))
+                .dayStart(LocalTime.parse("09:00"))
+                .dayEnd(LocalTime.parse("10:15"))
+                .slotLength(Duration.ofMinutes(30))
+                .daysOfWeek(Set.of(DayOfWeek.FRIDAY, DayOfWeek.SUNDAY))
+                .zone(ZoneId.of("Europe/Berlin"))
+                .build();
+
+        List<AvailableSlot> slots = SlotImportService.generate(rule).toList();
+
+        // 2100-01-01 is a Friday and 2100-01-03 a Sunday; a third slot would end after 10:15
+        assertEquals(List.of(
+                Instant.parse("2100-01-01T08:00:00Z"),
+                Instant.parse("2100-01-01T08:30:00Z"),
+                Instant.parse("2100-01-03T08:00:00Z"),
+                Instant.parse("2100-01-03T08:30:00Z")
+        ), slots.stream().map(AvailableSlot::getStartTime).toList());
+        assertTrue(slots.stream().noneMatch(AvailableSlot::getIsReserved));
+    }
+
+    @Test
+    void shouldRejectRuleWithoutPositiveSlotLength() {
+        SlotImportUseCase.Rule rule = SlotImportUseCase.Rule.builder()
+                .from(LocalDate.parse("2100-01-01"))
+                .to(LocalDate.parse("2100-01-01"))
+                .dayStart(LocalTime.parse("09:00"))
+                .dayEnd(LocalTime.parse("17:00"))
+                .slotLength(Duration.ZERO)
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> slotImportService.importRule(rule));
+    }
+
+    private AvailableSlot slot(Instant startTime, Instant endTime) {
+        return AvailableSlot.builder()
+                .startTime(startTime)
+                .endTime(endTime)
+                .isReserved(false)
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.mehrdadfalahati.reservation.service.aplication.service.view;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationCriteria;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationViewRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationViewCacheTest {
+
+    private static final UserId USER = new UserId(1L);
+    private static final Instant RESERVED_AT = Instant.parse("2024-01-01T09:00:00Z");
+
+    @Mock
+    private ReservationViewRepository reservationViewRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationViewCache reservationViewCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reservationViewCache = new ReservationViewCache(reservationViewRepository, meterRegistry, 100, 3, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldLoadViewOnceAndCountHitsAndMisses() {
+        when(reservationViewRepository.findByCriteria(any())).thenReturn(views(reservation("01A"), reservation("01B")));
+
+        List<ReservationView> first = reservationViewCache.find(criteria(10)).orElseThrow();
+        List<ReservationView> second = reservationViewCache.find(criteria(10)).orElseThrow();
+
+        assertEquals(2, first.size());
+        assertEquals(first, second);
+        verify(reservationViewRepository, times(1)).findByCriteria(any());
+        assertEquals(1, gets("hit"));
+        assertEquals(1, gets("miss"));
+    }
+
+    @Test
+    void shouldApplyOwnWritesToLoadedView() {
+        Reservation active = reservation("01A");
+        when(reservationViewRepository.findByCriteria(any())).thenReturn(views(active));
+        reservationViewCache.find(criteria(10));
+
+        reservationViewCache.created(reservation("01B"));
+        reservationViewCache.cancelled(withStatus(active, ReservationStatus.CANCELLED));
+
+        List<ReservationView> view = reservationViewCache.find(criteria(10)).orElseThrow();
+        assertEquals(List.of("01A", "01B"), view.stream().map(ReservationView::id).toList());
+        assertEquals(ReservationStatus.CANCELLED, view.getFirst().status());
+        verify(reservationViewRepository, times(1)).findByCriteria(any());
+    }
+
+    @Test
+    void shouldExpireOnlyReservationsStillActiveInView() {
+        Reservation active = reservation("01A");
+        Reservation cancelled = withStatus(reservation("01B"), ReservationStatus.CANCELLED);
+        when(reservationViewRepository.findByCriteria(any())).thenReturn(views(active, cancelled));
+        reservationViewCache.find(criteria(10));
+        Instant expiredAt = RESERVED_AT.plusSeconds(7200);
+
+        reservationViewCache.expired(List.of(reservation("01A"), reservation("01B")), expiredAt);
+
+        List<ReservationView> view = reservationViewCache.find(criteria(10)).orElseThrow();
+        assertEquals(ReservationStatus.EXPIRED, view.get(0).status());
+        assertEquals(expiredAt, view.get(0).updatedAt());
+        assertEquals(ReservationStatus.CANCELLED, view.get(1).status());
+    }
+
+    @Test
+    void shouldFilterViewLikeKeysetQuery() {
+        when(reservationViewRepository.findByCriteria(any())).thenReturn(views(
+                reservation("01A"), withStatus(reservation("01B"), ReservationStatus.CANCELLED), reservation("01C")));
+
+        List<ReservationView> page = reservationViewCache.find(ReservationCriteria.builder()
+                .userId(USER)
+                .afterId(new ReservationId("01A"))
+                .status(ReservationStatus.ACTIVE)
+                .reservedFrom(RESERVED_AT)
+                .reservedTo(RESERVED_AT.plusSeconds(1))
+                .limit(1)
+                .build()).orElseThrow();
+
+        assertEquals(List.of("01C"), page.stream().map(ReservationView::id).toList());
+    }
+
+    @Test
+    void shouldRememberUsersWithTooManyReservations() {
+        when(reservationViewRepository.findByCriteria(any())).thenReturn(views(
+                reservation("01A"), reservation("01B"), reservation("01C"), reservation("01D")));
+
+        assertTrue(reservationViewCache.find(criteria(10)).isEmpty());
+        assertTrue(reservationViewCache.find(criteria(10)).isEmpty());
+        reservationViewCache.created(reservation("01E"));
+        assertTrue(reservationViewCache.find(criteria(10)).isEmpty());
+
+        verify(reservationViewRepository, times(1)).findByCriteria(any());
+    }
+
+    @Test
+    void shouldStopServingViewWhenUserOutgrowsLimit() {
+        when(reservationViewRepository.findByCriteria(any())).thenReturn(views(
+                reservation("01A"), reservation("01B"), reservation("01C")));
+        reservationViewCache.find(criteria(10));
+
+        reservationViewCache.created(reservation("01D"));
+
+        assertTrue(reservationViewCache.find(criteria(10)).isEmpty());
+        verify(reservationViewRepository, times(1)).findByCriteria(any());
+    }
+
+    @Test
+    void shouldReloadViewWhenCancelledReservationIsMissing() {
+        when(reservationViewRepository.findByCriteria(any()))
+                .thenReturn(views(reservation("01A")))
+                .thenReturn(views(reservation("01A"), withStatus(reservation("01B"), ReservationStatus.CANCELLED)));
+        reservationViewCache.find(criteria(10));
+
+        reservationViewCache.cancelled(withStatus(reservation("01B"), ReservationStatus.CANCELLED));
+
+        List<ReservationView> view = reservationViewCache.find(criteria(10)).orElseThrow();
+        assertEquals(List.of("01A", "01B"), view.stream().map(ReservationView::id).toList());
+        verify(reservationViewRepository, times(2)).findByCriteria(any());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", ReservationViewCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private List<ReservationView> views(Reservation... reservations) {
+        return Arrays.stream(reservations).map(ReservationView::of).toList();
+    }
+
+    private ReservationCriteria criteria(int limit) {
+        return ReservationCriteria.builder().userId(USER).limit(limit).build();
+    }
+
+    private Reservation reservation(String id) {
+        return Reservation.builder()
+                .id(new ReservationId(id))
+                .userId(USER)
+                .availableSlotId(new AvailableSlotId(1L))
+                .status(ReservationStatus.ACTIVE)
+                .reservedAt(RESERVED_AT)
+                .version(0L)
+                .build();
+    }
+
+    private Reservation withStatus(Reservation reservation, ReservationStatus status) {
+        return Reservation.builder()
+                .id(reservation.getId())
+                .userId(reservation.getUserId())
+                .availableSlotId(reservation.getAvailableSlotId())
+                .status(status)
+                .reservedAt(reservation.getReservedAt())
+                .version(reservation.getVersion() + 1)
+                .build();
+    }
+}
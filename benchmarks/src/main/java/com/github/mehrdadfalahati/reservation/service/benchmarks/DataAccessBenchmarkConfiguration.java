@@ -0,0 +1,43 @@
+package com.github.mehrdadfalahati.reservation.service.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the dataaccess module alone (adapters, repositories, Liquibase seed data) on embedded H2.
+ */
+@SpringBootApplication(scanBasePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess")
+@EnableJpaRepositories(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess.repository")
+@EntityScan(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess.entity")
+public class DataAccessBenchmarkConfiguration {
+
+    /**
+     * Starts the module with the JPA settings of {@code application.yml}, plus {@code properties}.
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.properties.hibernate.jdbc.time_zone=UTC",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "spring.jpa.properties.hibernate.order_inserts=true",
+                "spring.jpa.properties.hibernate.order_updates=true",
+                "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled-lo",
+                "spring.liquibase.change-log=classpath:db/changelog/db.changelog-master.yaml"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(DataAccessBenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.mehrdadfalahati.reservation.service.benchmarks;
+
+import com.github.mehrdadfalahati.reservation.service.security.util.LegacyCompatiblePasswordEncoder;
+import com.github.mehrdadfalahati.reservation.service.security.util.OffloadingPasswordEncoder;
+import com.github.mehrdadfalahati.reservation.service.security.util.PasswordHashAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link LegacyCompatiblePasswordEncoder#matches} per login, for BCrypt and PBKDF2 hashes and for the
+ * plain-text values still present in seeded databases. {@link #repeatedLogin()} goes through
+ * {@link OffloadingPasswordEncoder}, where every call after the first is served from the verified-credential cache,
+ * and {@link #encode()} is the cost of one rehash. Pass {@code -p bcryptStrength=12} or
+ * {@code -p pbkdf2Iterations=600000} to size {@code security.password.*} against a login CPU budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String RAW_PASSWORD = "password123";
+
+    @Param({"bcrypt", "pbkdf2", "plain"})
+    private String storedAs;
+
+    @Param({"10"})
+    private int bcryptStrength;
+
+    @Param({"310000"})
+    private int pbkdf2Iterations;
+
+    private LegacyCompatiblePasswordEncoder encoder;
+    private OffloadingPasswordEncoder offloadingEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        PasswordHashAlgorithm algorithm = "pbkdf2".equals(storedAs) ? PasswordHashAlgorithm.PBKDF2 : PasswordHashAlgorithm.BCRYPT;
+        encoder = new LegacyCompatiblePasswordEncoder(algorithm, bcryptStrength, pbkdf2Iterations);
+        offloadingEncoder = new OffloadingPasswordEncoder(encoder, 1, 16, 1000, Duration.ofMinutes(5));
+        encodedPassword = "plain".equals(storedAs) ? RAW_PASSWORD : encoder.encode(RAW_PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        offloadingEncoder.close();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean repeatedLogin() {
+        return offloadingEncoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(RAW_PASSWORD);
+    }
+}
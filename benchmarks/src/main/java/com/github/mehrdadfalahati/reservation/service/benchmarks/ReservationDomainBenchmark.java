@@ -0,0 +1,53 @@
+package com.github.mehrdadfalahati.reservation.service.benchmarks;
+
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregate logic of {@link Reservation}: validation, construction and event registration on create, and the
+ * state transition on cancel. Cancel is measured together with the create it needs, since a reservation can
+ * only be cancelled once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationDomainBenchmark {
+
+    private final UserId userId = new UserId(1L);
+    private final AvailableSlotId availableSlotId = new AvailableSlotId(10L);
+    private Instant reservedAt;
+
+    @Setup
+    public void setUp() {
+        reservedAt = Instant.now().minusSeconds(60);
+    }
+
+    @Benchmark
+    public Reservation create() {
+        return Reservation.create(userId, availableSlotId, reservedAt);
+    }
+
+    @Benchmark
+    public Reservation createAndCancel() {
+        Reservation reservation = Reservation.create(userId, availableSlotId, reservedAt);
+        reservation.cancel();
+        return reservation;
+    }
+}
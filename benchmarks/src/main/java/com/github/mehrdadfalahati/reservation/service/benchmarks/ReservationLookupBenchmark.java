@@ -0,0 +1,105 @@
+package com.github.mehrdadfalahati.reservation.service.benchmarks;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationCriteria;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationViewRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationView;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReservationRepository#findById} by primary key against embedded H2 holding {@code reservations} rows,
+ * the lookup behind every cancel and reservation view. Compare runs on either side of the move from
+ * {@code VARCHAR(26)} to 16-byte ids to see the effect of the narrower key. {@code listPage} reads one
+ * {@code GET /api/reservations} page of {@code pageSize} rows through {@link ReservationViewRepository}, bypassing
+ * the view cache; run it with {@code -prof gc} to see the allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationLookupBenchmark {
+
+    private static final int BATCH = 1000;
+    // seeded by the Liquibase changelog; reservations of one slot are fine here, nothing checks double booking
+    private static final UserId USER = new UserId(1L);
+    private static final AvailableSlotId SLOT = new AvailableSlotId(1L);
+
+    @Param({"100000"})
+    private int reservations;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ReservationRepository reservationRepository;
+    private ReservationViewRepository reservationViewRepository;
+    private ReservationId[] ids;
+
+    @Setup
+    public void setUp() {
+        context = DataAccessBenchmarkConfiguration.start();
+        reservationRepository = context.getBean(ReservationRepository.class);
+        reservationViewRepository = context.getBean(ReservationViewRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        List<ReservationId> saved = new ArrayList<>(reservations);
+        Instant reservedAt = Instant.parse("2025-01-01T00:00:00Z");
+        for (int start = 0; start < reservations; start += BATCH) {
+            int size = Math.min(BATCH, reservations - start);
+            saved.addAll(transactionTemplate.execute(status -> {
+                List<Reservation> batch = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    batch.add(Reservation.create(USER, SLOT, reservedAt));
+                }
+                return reservationRepository.saveAll(batch).stream().map(Reservation::getId).toList();
+            }));
+        }
+        ids = saved.toArray(ReservationId[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Reservation findById() {
+        ReservationId id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return reservationRepository.findById(id).orElseThrow();
+    }
+
+    @Benchmark
+    public List<ReservationView> listPage() {
+        ReservationId after = ids[ThreadLocalRandom.current().nextInt(ids.length - pageSize)];
+        return reservationViewRepository.findByCriteria(ReservationCriteria.builder()
+                .userId(USER)
+                .afterId(after)
+                .limit(pageSize)
+                .build());
+    }
+}
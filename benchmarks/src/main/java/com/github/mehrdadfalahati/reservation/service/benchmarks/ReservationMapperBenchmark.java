@@ -0,0 +1,67 @@
+package com.github.mehrdadfalahati.reservation.service.benchmarks;
+
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.ReservationEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.ReservationDataMapper;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.ReservationDataMapperImpl;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import com.github.mehrdadfalahati.reservation.service.web.dto.response.ReservationResponse;
+import com.github.mehrdadfalahati.reservation.service.web.mapper.ReservationApiMapper;
+import com.github.mehrdadfalahati.reservation.service.web.mapper.ReservationApiMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions for a single reservation: entity to domain and back in the adapter, and domain to
+ * response in the controller. Listing skips these mappers; see {@link ReservationLookupBenchmark#listPage}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationMapperBenchmark {
+
+    private final ReservationDataMapper dataMapper = new ReservationDataMapperImpl();
+    private final ReservationApiMapper apiMapper = new ReservationApiMapperImpl();
+
+    private ReservationEntity entity;
+    private Reservation reservation;
+
+    @Setup
+    public void setUp() {
+        Instant reservedAt = Instant.now().minusSeconds(60);
+        reservation = Reservation.create(
+                new ReservationId("01JB8Z5Q6X1M2N3P4R5S6T7V8W"), new UserId(1L), new AvailableSlotId(10L), reservedAt);
+        entity = dataMapper.toEntity(reservation);
+    }
+
+    @Benchmark
+    public Reservation entityToDomain() {
+        return dataMapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public ReservationEntity domainToEntity() {
+        return dataMapper.toEntity(reservation);
+    }
+
+    @Benchmark
+    public ReservationResponse domainToResponse() {
+        return apiMapper.toResponse(reservation);
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.mehrdadfalahati.reservation.service.benchmarks;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The slot claim done by every reservation create: find and lock the nearest free slot, mark it reserved and
+ * write it back, inside one transaction against embedded H2 seeded by the Liquibase changelog. The transaction
+ * is rolled back so every invocation sees the same free slots.
+ * <p>
+ * {@code slotClaim} selects a {@code reservation.slots.claim-strategy}, or {@code IN_MEMORY} for
+ * {@code reservation.slots.allocation=in-memory}. Run with {@code -t <threads>} to measure contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotClaimBenchmark {
+
+    private static final Instant REQUESTED_TIME = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Param({"PESSIMISTIC", "SKIP_LOCKED", "OPTIMISTIC", "IN_MEMORY"})
+    private String slotClaim;
+
+    private ConfigurableApplicationContext context;
+    private AvailableSlotRepository availableSlotRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        boolean inMemory = "IN_MEMORY".equals(slotClaim);
+        context = DataAccessBenchmarkConfiguration.start(
+                "reservation.slots.allocation=" + (inMemory ? "in-memory" : "database"),
+                "reservation.slots.claim-strategy=" + (inMemory ? "PESSIMISTIC" : slotClaim));
+        availableSlotRepository = context.getBean(AvailableSlotRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AvailableSlot claimNearestSlot() {
+        return transactionTemplate.execute(status -> {
+            AvailableSlot slot = availableSlotRepository.findAndLockNearestAvailableSlot(REQUESTED_TIME)
+                    .orElseThrow(() -> new IllegalStateException("No available slots for " + REQUESTED_TIME));
+            slot.setIsReserved(true);
+            AvailableSlot saved = availableSlotRepository.save(slot);
+            status.setRollbackOnly();
+            return saved;
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.mehrdadfalahati.reservation.service.benchmarks;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Slot ingestion in rows per second: {@value #ROWS} new slots written through
+ * {@link AvailableSlotRepository#insertAll} in one transaction, which is rolled back so the table does not grow.
+ * <p>
+ * {@code rowsPerFlush} is the number of rows sent per flush. {@code 1} reproduces the statement-per-row inserts
+ * that {@code IDENTITY} ids forced on Hibernate; larger values are JDBC batches, possible since ids come from
+ * pooled sequences.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotIngestionBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final Instant FIRST_START = Instant.parse("2200-01-01T00:00:00Z");
+    private static final Duration SLOT_LENGTH = Duration.ofMinutes(30);
+
+    @Param({"1", "50", "1000"})
+    private int rowsPerFlush;
+
+    private ConfigurableApplicationContext context;
+    private AvailableSlotRepository availableSlotRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private List<List<AvailableSlot>> chunks;
+
+    @Setup
+    public void setUp() {
+        context = DataAccessBenchmarkConfiguration.start();
+        availableSlotRepository = context.getBean(AvailableSlotRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        List<AvailableSlot> slots = IntStream.range(0, ROWS)
+                .mapToObj(i -> FIRST_START.plus(SLOT_LENGTH.multipliedBy(i)))
+                .map(start -> AvailableSlot.builder().startTime(start).endTime(start.plus(SLOT_LENGTH)).isReserved(false).build())
+                .toList();
+        chunks = IntStream.range(0, (ROWS + rowsPerFlush - 1) / rowsPerFlush)
+                .mapToObj(i -> slots.subList(i * rowsPerFlush, Math.min(ROWS, (i + 1) * rowsPerFlush)))
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int insertSlots() {
+        return transactionTemplate.execute(status -> {
+            int inserted = 0;
+            for (List<AvailableSlot> chunk : chunks) {
+                inserted += availableSlotRepository.insertAll(chunk);
+                entityManager.flush();
+                // detached so that every flush only sends the chunk just added
+                entityManager.clear();
+            }
+            status.setRollbackOnly();
+            return inserted;
+        });
+    }
+}
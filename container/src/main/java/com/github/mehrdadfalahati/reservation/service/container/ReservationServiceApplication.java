@@ -4,9 +4,11 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EntityScan(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess")
 @EnableJpaRepositories(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess")
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = "com.github.mehrdadfalahati.reservation.service")
 public class ReservationServiceApplication {
 
@@ -0,0 +1,174 @@
+package com.github.mehrdadfalahati.reservation.service.container.monitoring;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.NoAvailableSlotException;
+import com.github.mehrdadfalahati.reservation.service.security.util.OffloadingPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call through an inbound use case port ({@code reservation.usecase}) and an outbound repository
+ * port ({@code reservation.repository}), tagged with the port, the method and the outcome, plus every
+ * password hash comparison during login ({@code reservation.auth.password}) and every hash computed
+ * ({@code reservation.auth.password.encode}). Password timings are taken on the hashing encoder, not on the
+ * {@link OffloadingPasswordEncoder} in front of it, so logins answered from its verified-credential cache and
+ * time spent queueing for a verifier thread are not counted as hashing. Ordered before the transaction advice,
+ * so use case timings include the commit.
+ * <p>
+ * A method's timers are looked up by {@link Method} and registered on first use, so a timed call costs one map
+ * lookup and two clock reads.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReservationMetricsAspect {
+
+    private static final String PORTS_PACKAGE = "com.github.mehrdadfalahati.reservation.service.aplication.service.ports";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+    private final Timer passwordMatched;
+    private final Timer passwordMismatched;
+    private final Timer passwordEncoded;
+
+    public ReservationMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.passwordMatched = passwordTimer(true);
+        this.passwordMismatched = passwordTimer(false);
+        this.passwordEncoded = Timer.builder("reservation.auth.password.encode")
+                .description("Password hashes computed for new or rehashed passwords")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(public * com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.*.*(..))")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("reservation.usecase", joinPoint);
+    }
+
+    @Around("execution(public * com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.*.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("reservation.repository", joinPoint);
+    }
+
+    @Around("execution(boolean org.springframework.security.crypto.password.PasswordEncoder.matches(..)) " +
+            "&& !within(com.github.mehrdadfalahati.reservation.service.security.util.OffloadingPasswordEncoder)")
+    public Object timePasswordMatch(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object matched = joinPoint.proceed();
+        (Boolean.TRUE.equals(matched) ? passwordMatched : passwordMismatched)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return matched;
+    }
+
+    @Around("execution(String org.springframework.security.crypto.password.PasswordEncoder.encode(..)) " +
+            "&& !within(com.github.mehrdadfalahati.reservation.service.security.util.OffloadingPasswordEncoder)")
+    public Object timePasswordEncode(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            passwordEncoded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimers methodTimers = timers.computeIfAbsent(method, key -> new MethodTimers(name, key));
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodTimers.get(Outcome.SUCCESS).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            methodTimers.get(Outcome.of(e)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer passwordTimer(boolean matched) {
+        return Timer.builder("reservation.auth.password")
+                .description("Password hash comparisons during login")
+                .tag("matched", String.valueOf(matched))
+                .register(meterRegistry);
+    }
+
+    /**
+     * The port interface that declares {@code method}; the join point may report the adapter's own method.
+     */
+    private static Class<?> portOf(Method method) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(method.getDeclaringClass())) {
+            if (type.getPackageName().startsWith(PORTS_PACKAGE)
+                    && ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes())) {
+                return type;
+            }
+        }
+        return method.getDeclaringClass();
+    }
+
+    private enum Outcome {
+        SUCCESS, NO_SLOT, CONFLICT, REJECTED, ERROR;
+
+        static Outcome of(Throwable failure) {
+            if (failure instanceof NoAvailableSlotException) {
+                return NO_SLOT;
+            }
+            if (failure instanceof IllegalStateException || failure instanceof ConcurrencyFailureException) {
+                return CONFLICT;
+            }
+            if (failure instanceof IllegalArgumentException) {
+                return REJECTED;
+            }
+            return ERROR;
+        }
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Timers of one method by outcome, registered when an outcome first occurs so that a repository method
+     * does not export, say, a {@code no_slot} series it can never produce.
+     */
+    private final class MethodTimers {
+
+        private final String name;
+        private final String port;
+        private final String method;
+        private final Timer[] byOutcome = new Timer[Outcome.values().length];
+
+        MethodTimers(String name, Method method) {
+            this.name = name;
+            this.port = portOf(method).getSimpleName();
+            this.method = method.getName();
+        }
+
+        Timer get(Outcome outcome) {
+            Timer timer = byOutcome[outcome.ordinal()];
+            if (timer == null) {
+                // registration is idempotent, so a racing first call ends up with the same timer
+                timer = Timer.builder(name)
+                        .tag("port", port)
+                        .tag("method", method)
+                        .tag("outcome", outcome.tag())
+                        .register(meterRegistry);
+                byOutcome[outcome.ordinal()] = timer;
+            }
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.mehrdadfalahati.reservation.service.container.slotimport;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.SlotImportUseCase;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Admin endpoints for loading free slots in bulk. Files are streamed from the request body; see
+ * {@link SlotImportReader} for the formats.
+ */
+@RestController
+@RequestMapping("/api/admin/slots")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('slot:write')")
+public class SlotImportController {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final SlotImportUseCase slotImportUseCase;
+    private final SlotImportReader slotImportReader;
+
+    @PostMapping(value = "/import", consumes = CSV)
+    @ResponseStatus(HttpStatus.CREATED)
+    public Response importCsv(InputStream body) {
+        return importFile(body, SlotImportReader.Format.CSV);
+    }
+
+    @PostMapping(value = "/import", consumes = NDJSON)
+    @ResponseStatus(HttpStatus.CREATED)
+    public Response importNdjson(InputStream body) {
+        return importFile(body, SlotImportReader.Format.NDJSON);
+    }
+
+    @PostMapping("/generate")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Response generate(@RequestBody RuleRequest request) {
+        return Response.of(slotImportUseCase.importRule(request.toRule()));
+    }
+
+    private Response importFile(InputStream body, SlotImportReader.Format format) {
+        try (Stream<AvailableSlot> slots = slotImportReader.read(body, format)) {
+            return Response.of(slotImportUseCase.importSlots(slots));
+        }
+    }
+
+    public record RuleRequest(LocalDate from,
+                              LocalDate to,
+                              LocalTime dayStart,
+                              LocalTime dayEnd,
+                              Duration slotLength,
+                              Set<DayOfWeek> daysOfWeek,
+                              ZoneId zone) {
+
+        SlotImportUseCase.Rule toRule() {
+            return SlotImportUseCase.Rule.builder()
+                    .from(from)
+                    .to(to)
+                    .dayStart(dayStart)
+                    .dayEnd(dayEnd)
+                    .slotLength(slotLength)
+                    .daysOfWeek(daysOfWeek)
+                    .zone(zone)
+                    .build();
+        }
+    }
+
+    public record Response(long imported, long elapsedMillis, long slotsPerSecond) {
+
+        static Response of(SlotImportUseCase.Result result) {
+            return new Response(result.imported(), result.elapsed().toMillis(), Math.round(result.slotsPerSecond()));
+        }
+    }
+}
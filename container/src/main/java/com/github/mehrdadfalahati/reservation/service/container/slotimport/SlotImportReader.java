@@ -0,0 +1,87 @@
+package com.github.mehrdadfalahati.reservation.service.container.slotimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Parses slot files line by line into a lazy stream, so an import never holds more than the current batch.
+ * <ul>
+ *   <li>CSV: {@code start_time,end_time} as ISO-8601 instants; a header line is skipped</li>
+ *   <li>NDJSON: one {@code {"startTime": ..., "endTime": ...}} object per line</li>
+ * </ul>
+ * Blank lines are ignored. The returned stream owns {@code input} and closes it when closed.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotImportReader {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final ObjectMapper objectMapper;
+
+    public Stream<AvailableSlot> read(InputStream input, Format format) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        AtomicLong lineNumber = new AtomicLong();
+        return reader.lines()
+                .map(line -> new Line(lineNumber.incrementAndGet(), line.strip()))
+                .filter(line -> !line.text().isEmpty())
+                .filter(line -> format != Format.CSV || line.number() > 1 || !line.text().startsWith("start"))
+                .map(line -> format == Format.CSV ? parseCsv(line) : parseNdjson(line))
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private AvailableSlot parseCsv(Line line) {
+        String[] columns = line.text().split(",");
+        if (columns.length != 2) {
+            throw new IllegalArgumentException("Line %d: expected start_time,end_time".formatted(line.number()));
+        }
+        return slot(line, columns[0].strip(), columns[1].strip());
+    }
+
+    private AvailableSlot parseNdjson(Line line) {
+        try {
+            SlotLine slot = objectMapper.readValue(line.text(), SlotLine.class);
+            return slot(line, slot.startTime(), slot.endTime());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Line %d: %s".formatted(line.number(), e.getOriginalMessage()), e);
+        }
+    }
+
+    private static AvailableSlot slot(Line line, String startTime, String endTime) {
+        try {
+            return AvailableSlot.builder()
+                    .startTime(startTime != null ? Instant.parse(startTime) : null)
+                    .endTime(endTime != null ? Instant.parse(endTime) : null)
+                    .isReserved(false)
+                    .build();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Line %d: %s".formatted(line.number(), e.getMessage()), e);
+        }
+    }
+
+    private record Line(long number, String text) {}
+
+    private record SlotLine(String startTime, String endTime) {}
+}
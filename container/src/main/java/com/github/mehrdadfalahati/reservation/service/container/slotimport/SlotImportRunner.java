@@ -0,0 +1,74 @@
+package com.github.mehrdadfalahati.reservation.service.container.slotimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.SlotImportUseCase;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Imports slots from a file given on the command line, then shuts the application down:
+ * <pre>
+ * java -jar reservation-service.jar --spring.main.web-application-type=none \
+ *     --reservation.slots.import.file=slots.csv
+ * </pre>
+ * {@code .csv} and {@code .ndjson}/{@code .jsonl} files are streamed as slots, a {@code .json} file holds one
+ * recurring rule in the body format of {@code POST /api/admin/slots/generate}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.slots.import.file")
+public class SlotImportRunner implements ApplicationRunner {
+
+    private final SlotImportUseCase slotImportUseCase;
+    private final SlotImportReader slotImportReader;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${reservation.slots.import.file}")
+    private Path file;
+
+    @Value("${reservation.slots.import.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        SlotImportUseCase.Result result = importFile();
+        log.info("Slot import from {} finished: {} slots in {} ms ({} slots/s)", file,
+                result.imported(), result.elapsed().toMillis(), Math.round(result.slotsPerSecond()));
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    SlotImportUseCase.Result importFile() throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".json")) {
+            SlotImportController.RuleRequest rule =
+                    objectMapper.readValue(file.toFile(), SlotImportController.RuleRequest.class);
+            return slotImportUseCase.importRule(rule.toRule());
+        }
+        SlotImportReader.Format format = name.endsWith(".csv")
+                ? SlotImportReader.Format.CSV
+                : SlotImportReader.Format.NDJSON;
+        InputStream input = Files.newInputStream(file);
+        try (Stream<AvailableSlot> slots = slotImportReader.read(input, format)) {
+            return slotImportUseCase.importSlots(slots);
+        }
+    }
+}
@@ -4,8 +4,10 @@ import com.github.mehrdadfalahati.reservation.service.web.dto.request.LoginReque
 import com.github.mehrdadfalahati.reservation.service.web.dto.request.ReservationCreateRequest;
 import com.github.mehrdadfalahati.reservation.service.web.dto.response.LoginResponse;
 import com.github.mehrdadfalahati.reservation.service.web.dto.response.ReservationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.*;
 import org.springframework.test.annotation.DirtiesContext;
@@ -26,6 +28,7 @@ import java.util.concurrent.TimeUnit;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class ReservationSystemIntegrationTest {
 
@@ -36,6 +39,9 @@ class ReservationSystemIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void shouldAllocateNearestSlotForReservationRequests() {
         String token = login("user1", "hashed_password_123");
@@ -66,6 +72,71 @@ class ReservationSystemIntegrationTest {
         assertThat(recreated.id()).isNotEqualTo(reservation.id());
     }
 
+    @Test
+    void shouldOnlyLetOwnerCancelReservation() {
+        String ownerToken = login("user1", "hashed_password_123");
+        String otherToken = login("user3", "hashed_password_789");
+        ReservationResponse reservation = createReservation(ownerToken, SLOT_09);
+
+        ResponseEntity<String> foreignCancel = restTemplate.exchange(
+                "/api/reservations/{id}",
+                HttpMethod.DELETE,
+                authorizedEntity(null, otherToken),
+                String.class,
+                reservation.id()
+        );
+        assertThat(foreignCancel.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        assertThat(cancelReservation(ownerToken, reservation.id()).status()).isEqualTo("CANCELLED");
+
+        ResponseEntity<String> secondCancel = restTemplate.exchange(
+                "/api/reservations/{id}",
+                HttpMethod.DELETE,
+                authorizedEntity(null, ownerToken),
+                String.class,
+                reservation.id()
+        );
+        assertThat(secondCancel.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void shouldReplayCreateWithSameIdempotencyKey() {
+        String token = login("user2", "hashed_password_456");
+        HttpEntity<ReservationCreateRequest> request = authorizedEntity(new ReservationCreateRequest(SLOT_09), token);
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        headers.set("Idempotency-Key", "checkout-42");
+        HttpEntity<ReservationCreateRequest> keyed = new HttpEntity<>(request.getBody(), headers);
+
+        ResponseEntity<ReservationResponse> first = restTemplate.exchange(
+                "/api/reservations", HttpMethod.POST, keyed, ReservationResponse.class);
+        ResponseEntity<ReservationResponse> retry = restTemplate.exchange(
+                "/api/reservations", HttpMethod.POST, keyed, ReservationResponse.class);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(Objects.requireNonNull(retry.getBody()).id())
+                .isEqualTo(Objects.requireNonNull(first.getBody()).id());
+        assertThat(listReservations(token)).hasSize(1);
+    }
+
+    @Test
+    void shouldRejectIdempotencyKeyReusedWithDifferentBody() {
+        String token = login("user2", "hashed_password_456");
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(authorizedEntity(null, token).getHeaders());
+        headers.set("Idempotency-Key", "checkout-43");
+
+        ResponseEntity<ReservationResponse> first = restTemplate.exchange("/api/reservations", HttpMethod.POST,
+                new HttpEntity<>(new ReservationCreateRequest(SLOT_09), headers), ReservationResponse.class);
+        ResponseEntity<String> reused = restTemplate.exchange("/api/reservations", HttpMethod.POST,
+                new HttpEntity<>(new ReservationCreateRequest(SLOT_09.plusSeconds(3600)), headers), String.class);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(listReservations(token)).hasSize(1);
+    }
+
     @Test
     void shouldPreventSameSlotBeingBookedConcurrently() throws Exception {
         String tokenA = login("user1", "hashed_password_123");
@@ -104,6 +175,41 @@ class ReservationSystemIntegrationTest {
         assertThat(response.getBody()).contains("\"openapi\"");
     }
 
+    @Test
+    void shouldPublishUseCaseRepositoryAndSlotMetrics() {
+        String token = login("user1", "hashed_password_123");
+        createReservation(token, SLOT_09);
+        ResponseEntity<String> noSlot = restTemplate.exchange(
+                "/api/reservations",
+                HttpMethod.POST,
+                authorizedEntity(new ReservationCreateRequest(Instant.parse("2100-01-01T00:00:00Z")), token),
+                String.class
+        );
+        assertThat(noSlot.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        assertThat(meterRegistry.get("reservation.usecase")
+                .tags("port", "ReservationCreateUseCase", "method", "create", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("reservation.usecase")
+                .tags("port", "ReservationCreateUseCase", "method", "create", "outcome", "no_slot")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("reservation.repository")
+                .tags("port", "AvailableSlotRepository", "method", "findAndLockNearestAvailableSlot", "outcome", "success")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("reservation.slots.lock.wait").tag("strategy", "pessimistic")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("reservation.slots.claims").tag("outcome", "no_slot")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("reservation.slots.free").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("reservation.auth.password").tag("matched", "true")
+                .timer().count()).isEqualTo(1);
+
+        ResponseEntity<String> scrape = restTemplate.exchange(
+                "/actuator/prometheus", HttpMethod.GET, authorizedEntity(null, token), String.class);
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody()).contains("reservation_usecase_seconds_bucket", "reservation_slots_lock_wait_seconds_bucket");
+    }
+
     private ResponseEntity<ReservationResponse> performCreate(String token, CountDownLatch startGate) throws InterruptedException {
         startGate.await();
         HttpEntity<ReservationCreateRequest> entity = authorizedEntity(
@@ -0,0 +1,160 @@
+package com.github.mehrdadfalahati.reservation.service.container;
+
+import com.github.mehrdadfalahati.reservation.service.container.slotimport.SlotImportController;
+import com.github.mehrdadfalahati.reservation.service.web.dto.request.LoginRequest;
+import com.github.mehrdadfalahati.reservation.service.web.dto.response.AvailableSlotResponse;
+import com.github.mehrdadfalahati.reservation.service.web.dto.response.LoginResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "security.admin-usernames=user1",
+                "reservation.slots.import.exit-when-done=false"
+        })
+@DirtiesContext
+class SlotImportIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void importFileOnStartup(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempFile("slots", ".csv");
+        Files.writeString(file, """
+                start_time,end_time
+                2100-03-01T09:00:00Z,2100-03-01T09:30:00Z
+                2100-03-01T09:30:00Z,2100-03-01T10:00:00Z
+                """);
+        file.toFile().deleteOnExit();
+        registry.add("reservation.slots.import.file", file::toString);
+    }
+
+    @Test
+    void shouldImportFileGivenOnCommandLineAtStartup() {
+        String token = login("user2", "hashed_password_456");
+
+        assertThat(availableStartTimes(token, "2100-03-01T00:00:00Z", "2100-03-02T00:00:00Z"))
+                .containsExactly(Instant.parse("2100-03-01T09:00:00Z"), Instant.parse("2100-03-01T09:30:00Z"));
+    }
+
+    @Test
+    void shouldStreamNdjsonImportForAdmin() {
+        String token = login("user1", "hashed_password_123");
+        String body = """
+                {"startTime":"2100-04-01T09:00:00Z","endTime":"2100-04-01T10:00:00Z"}
+
+                {"startTime":"2100-04-01T10:00:00Z","endTime":"2100-04-01T11:00:00Z"}
+                """;
+
+        ResponseEntity<SlotImportController.Response> response = restTemplate.exchange(
+                "/api/admin/slots/import",
+                HttpMethod.POST,
+                entity(body, token, MediaType.parseMediaType(SlotImportController.NDJSON)),
+                SlotImportController.Response.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(Objects.requireNonNull(response.getBody()).imported()).isEqualTo(2);
+        assertThat(availableStartTimes(token, "2100-04-01T00:00:00Z", "2100-04-02T00:00:00Z")).hasSize(2);
+    }
+
+    @Test
+    void shouldGenerateSlotsFromRuleForAdmin() {
+        String token = login("user1", "hashed_password_123");
+        String rule = """
+                {"from":"2100-05-01","to":"2100-05-02","dayStart":"09:00","dayEnd":"12:00","slotLength":"PT1H"}
+                """;
+
+        ResponseEntity<SlotImportController.Response> response = restTemplate.exchange(
+                "/api/admin/slots/generate",
+                HttpMethod.POST,
+                entity(rule, token, MediaType.APPLICATION_JSON),
+                SlotImportController.Response.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(Objects.requireNonNull(response.getBody()).imported()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldRejectInvalidLineWithBadRequest() {
+        String token = login("user1", "hashed_password_123");
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/admin/slots/import",
+                HttpMethod.POST,
+                entity("2100-06-01T09:00:00Z;2100-06-01T10:00:00Z\n", token, MediaType.parseMediaType(SlotImportController.CSV)),
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("Line 1");
+    }
+
+    @Test
+    void shouldForbidImportForNonAdmin() {
+        String token = login("user2", "hashed_password_456");
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/admin/slots/import",
+                HttpMethod.POST,
+                entity("2100-06-01T09:00:00Z,2100-06-01T10:00:00Z\n", token, MediaType.parseMediaType(SlotImportController.CSV)),
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    private List<Instant> availableStartTimes(String token, String from, String to) {
+        ResponseEntity<List<AvailableSlotResponse>> response = restTemplate.exchange(
+                "/api/slots/available?from={from}&to={to}",
+                HttpMethod.GET,
+                entity(null, token, MediaType.APPLICATION_JSON),
+                new ParameterizedTypeReference<>() {},
+                from,
+                to
+        );
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return Objects.requireNonNull(response.getBody()).stream().map(AvailableSlotResponse::startTime).toList();
+    }
+
+    private String login(String username, String password) {
+        ResponseEntity<LoginResponse> response = restTemplate.postForEntity(
+                "/api/auth/login",
+                new LoginRequest(username, password),
+                LoginResponse.class
+        );
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return Objects.requireNonNull(response.getBody()).token();
+    }
+
+    private <T> HttpEntity<T> entity(T body, String token, MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setBearerAuth(token);
+        return new HttpEntity<>(body, headers);
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.mehrdadfalahati.reservation.service.container;
+
+import com.github.mehrdadfalahati.reservation.service.container.monitoring.VirtualThreadPinningMonitor;
+import com.github.mehrdadfalahati.reservation.service.web.dto.request.LoginRequest;
+import com.github.mehrdadfalahati.reservation.service.web.dto.request.ReservationCreateRequest;
+import com.github.mehrdadfalahati.reservation.service.web.dto.response.LoginResponse;
+import com.github.mehrdadfalahati.reservation.service.web.dto.response.ReservationResponse;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual-threads")
+@DirtiesContext
+class VirtualThreadModeIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ServletWebServerApplicationContext applicationContext;
+
+    @Test
+    void shouldServeRequestsOnVirtualThreadsWithPinningMonitor() {
+        TomcatWebServer webServer = (TomcatWebServer) applicationContext.getWebServer();
+        assertThat(webServer.getTomcat().getConnector().getProtocolHandler().getExecutor())
+                .isInstanceOf(VirtualThreadExecutor.class);
+        assertThat(applicationContext.getBeansOfType(VirtualThreadPinningMonitor.class)).hasSize(1);
+
+        ResponseEntity<LoginResponse> login = restTemplate.postForEntity(
+                "/api/auth/login",
+                new LoginRequest("user1", "hashed_password_123"),
+                LoginResponse.class
+        );
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(Objects.requireNonNull(login.getBody()).token());
+        ResponseEntity<ReservationResponse> created = restTemplate.exchange(
+                "/api/reservations",
+                HttpMethod.POST,
+                new HttpEntity<>(new ReservationCreateRequest(Instant.parse("2024-12-29T09:00:00Z")), headers),
+                ReservationResponse.class
+        );
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+}
@@ -2,36 +2,179 @@ package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
 
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.AvailableSlotEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.index.FreeSlotIndex;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.AvailableSlotDataMapper;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.AvailableSlotJpaRepository;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
+/**
+ * Claims slots with locking queries against {@code available_slots}. Availability reads are served from an
+ * in-memory {@link FreeSlotIndex} that is updated after each commit of this instance and rebuilt from the table
+ * every {@code reservation.slots.availability.refresh-interval} to pick up changes made by other instances.
+ * Updates committed while a rebuild reads the table are applied to the current index and replayed onto the
+ * rebuilt one before it replaces it, so a rebuild never brings back a slot this instance has just claimed.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.slots.allocation", havingValue = "database", matchIfMissing = true)
 public class AvailableSlotRepositoryImpl implements AvailableSlotRepository {
 
+    private static final int MAX_OPTIMISTIC_ROUNDS = 10;
+
     private final AvailableSlotJpaRepository availableSlotJpaRepository;
     private final AvailableSlotDataMapper availableSlotDataMapper;
+    private final EntityManager entityManager;
+    private final SlotClaimBuckets slotClaimBuckets;
+    private final SlotClaimMetrics slotClaimMetrics;
+
+    /**
+     * Slots claimed by transactions of this instance that have not completed yet. The optimistic strategy
+     * skips them when picking candidates so that concurrent requests do not race for the same row.
+     */
+    private final Set<Long> claimsInFlight = ConcurrentHashMap.newKeySet();
+
+    private volatile FreeSlotIndex availabilityIndex = new FreeSlotIndex();
+
+    /**
+     * Write lock: a rebuild starting or swapping in its index. Read lock: an index update, which may run
+     * concurrently with other updates.
+     */
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    /**
+     * Index updates committed since the running rebuild started reading, or {@code null} when no rebuild runs.
+     */
+    private Queue<Consumer<FreeSlotIndex>> updatesDuringRebuild;
+
+    @Value("${reservation.slots.claim-strategy:PESSIMISTIC}")
+    private SlotClaimStrategy claimStrategy;
+
+    @Value("${reservation.slots.claim-candidates:8}")
+    private int claimCandidates;
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${reservation.slots.availability.refresh-interval:PT5M}",
+            fixedDelayString = "${reservation.slots.availability.refresh-interval:PT5M}")
+    public void rebuildAvailabilityIndex() {
+        FreeSlotIndex rebuilt = new FreeSlotIndex();
+        Queue<Consumer<FreeSlotIndex>> updates = new ConcurrentLinkedQueue<>();
+        withIndexLock(indexLock.writeLock(), () -> updatesDuringRebuild = updates);
+        try {
+            FreeSlotIndexes.loadInto(rebuilt, availableSlotJpaRepository);
+            withIndexLock(indexLock.writeLock(), () -> {
+                updates.forEach(update -> update.accept(rebuilt));
+                availabilityIndex = rebuilt;
+            });
+        } finally {
+            withIndexLock(indexLock.writeLock(), () -> {
+                if (updatesDuringRebuild == updates) {
+                    updatesDuringRebuild = null;
+                }
+            });
+        }
+        slotClaimBuckets.reset(Instant.now());
+        log.debug("Availability index rebuilt with {} free slots", rebuilt.size());
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        slotClaimMetrics.monitorFreeSlots(this, AvailableSlotRepositoryImpl::indexedAvailableSlotCount);
+    }
 
     @Override
     @Transactional
     public Optional<AvailableSlot> findAndLockNearestAvailableSlot(Instant requestedTime) {
-        return availableSlotJpaRepository.findFirstAvailableSlotWithLock(requestedTime, false)
-                .map(availableSlotDataMapper::toDomain);
+        return slotClaimMetrics.claimed(switch (claimStrategy) {
+            case PESSIMISTIC -> slotClaimMetrics.lockWait(claimStrategy)
+                    .record(() -> availableSlotJpaRepository.findFirstAvailableSlotWithLock(requestedTime))
+                    .map(availableSlotDataMapper::toDomain);
+            case SKIP_LOCKED -> slotClaimMetrics.lockWait(claimStrategy)
+                    .record(() -> availableSlotJpaRepository.findFirstAvailableSlotSkipLocked(requestedTime))
+                    .map(availableSlotDataMapper::toDomain);
+            case OPTIMISTIC -> claimOptimistically(requestedTime);
+            case BUCKETED -> claimFromBuckets(requestedTime);
+        });
     }
 
+    /**
+     * Locks one slot per requested time, earliest request first. Slots already locked for the batch are
+     * excluded from the following lookups, so nothing has to be flushed until the batch is saved.
+     */
     @Override
+    @Transactional
+    public List<Optional<AvailableSlot>> findAndLockNearestAvailableSlots(List<Instant> requestedTimes) {
+        List<Optional<AvailableSlot>> claimed = new ArrayList<>(
+                Collections.nCopies(requestedTimes.size(), Optional.empty()));
+        List<Long> claimedIds = new ArrayList<>();
+        List<Integer> requestOrder = IntStream.range(0, requestedTimes.size()).boxed()
+                .sorted(Comparator.comparing(requestedTimes::get))
+                .toList();
+        for (int index : requestOrder) {
+            Instant requestedTime = requestedTimes.get(index);
+            Optional<AvailableSlotEntity> slot = slotClaimMetrics.lockWait(SlotClaimStrategy.PESSIMISTIC)
+                    .record(() -> claimedIds.isEmpty()
+                            ? availableSlotJpaRepository.findFirstAvailableSlotWithLock(requestedTime)
+                            : availableSlotJpaRepository.findFirstAvailableSlotWithLockExcluding(requestedTime, claimedIds));
+            if (slot.isEmpty()) {
+                // later requests ask for even later slots
+                break;
+            }
+            claimedIds.add(slot.get().getId());
+            claimed.set(index, slot.map(availableSlotDataMapper::toDomain));
+        }
+        claimed.forEach(slotClaimMetrics::claimed);
+        return claimed;
+    }
+
+    /**
+     * Applies the slot to its managed entity; see {@link AvailableSlotUpdates#write}. Returns {@code slot} itself,
+     * with its id assigned if it was new.
+     */
+    @Override
+    @Transactional
     public AvailableSlot save(AvailableSlot slot) {
-        AvailableSlotEntity entity = availableSlotDataMapper.toEntity(slot);
-        AvailableSlotEntity savedEntity = availableSlotJpaRepository.save(entity);
-        return availableSlotDataMapper.toDomain(savedEntity);
+        updateAvailabilityAfterCommit(List.of(AvailableSlotUpdates.write(entityManager, availableSlotDataMapper, slot)));
+        return slot;
+    }
+
+    @Override
+    @Transactional
+    public List<AvailableSlot> saveAll(List<AvailableSlot> slots) {
+        JdbcBatching.batchUpTo(entityManager, slots.size());
+        updateAvailabilityAfterCommit(slots.stream()
+                .map(slot -> AvailableSlotUpdates.write(entityManager, availableSlotDataMapper, slot))
+                .toList());
+        return slots;
     }
 
     @Override
@@ -39,4 +182,180 @@ public class AvailableSlotRepositoryImpl implements AvailableSlotRepository {
         return availableSlotJpaRepository.findById(id.value())
                 .map(availableSlotDataMapper::toDomain);
     }
+
+    @Override
+    @Transactional
+    public int insertAll(List<AvailableSlot> slots) {
+        JdbcBatching.batchUpTo(entityManager, slots.size());
+        List<AvailableSlotEntity> inserted =
+                availableSlotJpaRepository.saveAll(slots.stream().map(availableSlotDataMapper::toEntity).toList());
+        updateAvailabilityAfterCommit(inserted);
+        return inserted.size();
+    }
+
+    @Override
+    public Optional<AvailableSlot> release(AvailableSlotId id) {
+        return AvailableSlotUpdates.release(entityManager, id.value())
+                .map(released -> {
+                    updateAvailabilityAfterCommit(List.of(released));
+                    return availableSlotDataMapper.toDomain(released);
+                });
+    }
+
+    @Override
+    public List<AvailableSlot> findAvailable(Instant from, Instant to, int limit) {
+        return availabilityIndex.findFree(from, to, limit).stream()
+                .map(FreeSlotIndexes::toDomain)
+                .toList();
+    }
+
+    int indexedAvailableSlotCount() {
+        return availabilityIndex.size();
+    }
+
+    private Optional<AvailableSlot> claimOptimistically(Instant requestedTime) {
+        for (int round = 0; round < MAX_OPTIMISTIC_ROUNDS; round++) {
+            int window = claimsInFlight.size() + claimCandidates;
+            List<AvailableSlotEntity> candidates =
+                    availableSlotJpaRepository.findAvailableSlotCandidates(requestedTime, Limit.of(window));
+            for (AvailableSlotEntity candidate : candidates) {
+                if (!claimsInFlight.add(candidate.getId())) {
+                    continue;
+                }
+                if (availableSlotJpaRepository.claimIfAvailable(candidate.getId()) == 1) {
+                    releaseOnCompletion(candidate.getId());
+                    AvailableSlotUpdates.markReserved(entityManager, candidate);
+                    return Optional.of(availableSlotDataMapper.toDomain(candidate));
+                }
+                claimsInFlight.remove(candidate.getId());
+            }
+            if (candidates.size() < window) {
+                return Optional.empty();
+            }
+        }
+        throw new IllegalStateException(
+                "Could not claim a slot for %s after %d attempts".formatted(requestedTime, MAX_OPTIMISTIC_ROUNDS));
+    }
+
+    /**
+     * Claims in the bucket of {@code requestedTime}; when that bucket has nothing free from there on, jumps to
+     * the bucket of the next free slot instead of visiting the empty buckets in between.
+     */
+    private Optional<AvailableSlot> claimFromBuckets(Instant requestedTime) {
+        Instant from = requestedTime;
+        while (true) {
+            SlotClaimBuckets.Bucket bucket = slotClaimBuckets.bucketOf(from);
+            Optional<AvailableSlotEntity> claimed = claimInBucket(bucket, from);
+            if (claimed.isPresent()) {
+                return claimed.map(availableSlotDataMapper::toDomain);
+            }
+            Optional<Instant> next = availableSlotJpaRepository.findFirstAvailableStartTime(bucket.end());
+            if (next.isEmpty()) {
+                return Optional.empty();
+            }
+            from = next.get();
+        }
+    }
+
+    private Optional<AvailableSlotEntity> claimInBucket(SlotClaimBuckets.Bucket bucket, Instant requestedTime) {
+        slotClaimMetrics.lockWait(SlotClaimStrategy.BUCKETED).record(() -> bucket.lock().lock());
+        try {
+            for (int round = 0; round < MAX_OPTIMISTIC_ROUNDS; round++) {
+                Instant cursor = bucket.firstFree();
+                // the cursor only describes the bucket from its own position, so only a scan starting there moves it
+                boolean fromCursor = !requestedTime.isAfter(cursor);
+                int window = bucket.claimsInFlight().size() + claimCandidates;
+                List<AvailableSlotEntity> candidates = availableSlotJpaRepository.findAvailableSlotCandidatesBetween(
+                        fromCursor ? cursor : requestedTime, bucket.end(), Limit.of(window));
+                for (AvailableSlotEntity candidate : candidates) {
+                    if (bucket.claimsInFlight().contains(candidate.getId())) {
+                        continue;
+                    }
+                    if (availableSlotJpaRepository.claimIfAvailable(candidate.getId()) == 1) {
+                        bucket.claimsInFlight().add(candidate.getId());
+                        completeBucketClaim(bucket, candidate);
+                        if (fromCursor) {
+                            bucket.advance(cursor, candidate.getStartTime());
+                        }
+                        AvailableSlotUpdates.markReserved(entityManager, candidate);
+                        return Optional.of(candidate);
+                    }
+                }
+                if (candidates.size() < window) {
+                    if (fromCursor) {
+                        bucket.advance(cursor, bucket.end());
+                    }
+                    return Optional.empty();
+                }
+                if (fromCursor) {
+                    bucket.advance(cursor, candidates.getLast().getStartTime());
+                }
+            }
+        } finally {
+            bucket.lock().unlock();
+        }
+        throw new IllegalStateException(
+                "Could not claim a slot for %s after %d attempts".formatted(requestedTime, MAX_OPTIMISTIC_ROUNDS));
+    }
+
+    private void completeBucketClaim(SlotClaimBuckets.Bucket bucket, AvailableSlotEntity slot) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                bucket.claimsInFlight().remove(slot.getId());
+                if (status != STATUS_COMMITTED) {
+                    bucket.rewindTo(slot.getStartTime());
+                }
+            }
+        });
+    }
+
+    private void releaseOnCompletion(Long slotId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                claimsInFlight.remove(slotId);
+            }
+        });
+    }
+
+    private void updateAvailabilityAfterCommit(List<AvailableSlotEntity> savedEntities) {
+        List<FreeSlotIndex.Entry> reserved = new ArrayList<>();
+        List<FreeSlotIndex.Entry> free = new ArrayList<>();
+        for (AvailableSlotEntity entity : savedEntities) {
+            (Boolean.TRUE.equals(entity.getIsReserved()) ? reserved : free).add(FreeSlotIndexes.toEntry(entity));
+        }
+        Consumer<FreeSlotIndex> indexUpdate = index -> {
+            reserved.forEach(index::remove);
+            index.addAll(free);
+        };
+        Runnable update = () -> {
+            withIndexLock(indexLock.readLock(), () -> {
+                indexUpdate.accept(availabilityIndex);
+                if (updatesDuringRebuild != null) {
+                    updatesDuringRebuild.add(indexUpdate);
+                }
+            });
+            free.forEach(entry -> slotClaimBuckets.slotFreed(entry.startTime()));
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static void withIndexLock(Lock lock, Runnable action) {
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.AvailableSlotEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.AvailableSlotDataMapper;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import jakarta.persistence.EntityManager;
+import lombok.experimental.UtilityClass;
+import org.hibernate.Session;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+@UtilityClass
+class AvailableSlotUpdates {
+
+    private static final String RELEASE = "UPDATE available_slots SET is_reserved = false WHERE id = :id";
+
+    private static final Map<String, Class<?>> SLOT_COLUMNS = Map.of(
+            "id", Long.class,
+            "start_time", Instant.class,
+            "end_time", Instant.class);
+
+    /**
+     * Marks the slot free with a single update that also returns it, so callers can update their indexes
+     * without loading the row.
+     */
+    Optional<AvailableSlotEntity> release(EntityManager entityManager, Long id) {
+        return UpdateReturning.execute(entityManager, RELEASE, SLOT_COLUMNS, Map.of("id", id)).stream()
+                .findFirst()
+                .map(row -> AvailableSlotEntity.builder()
+                        .id(row.get("id", Long.class))
+                        .startTime(row.get("start_time", Instant.class))
+                        .endTime(row.get("end_time", Instant.class))
+                        .isReserved(false)
+                        .build());
+    }
+
+    /**
+     * Records on the managed {@code entity} that a conditional update has just reserved its row, without making
+     * the entity dirty, so that neither this nor a later {@link #write} of the claimed slot sends a second UPDATE
+     * for a change the database already has.
+     */
+    void markReserved(EntityManager entityManager, AvailableSlotEntity entity) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setReadOnly(entity, true);
+        entity.setIsReserved(true);
+        // making it modifiable again takes its current state as the snapshot the flush compares against
+        session.setReadOnly(entity, false);
+    }
+
+    /**
+     * Writes {@code slot} through the persistence context: a new slot is persisted, an existing one is applied in
+     * place to its managed entity, so that the flush sends at most one UPDATE and nothing is merged. A slot
+     * claimed earlier in the transaction is found in the persistence context without a query.
+     *
+     * @return the managed entity
+     * @throws IllegalArgumentException if the slot has an id but does not exist
+     */
+    AvailableSlotEntity write(EntityManager entityManager, AvailableSlotDataMapper mapper, AvailableSlot slot) {
+        if (slot.getId() == null || slot.getId().value() == null) {
+            AvailableSlotEntity entity = mapper.toEntity(slot);
+            entityManager.persist(entity);
+            slot.setId(new AvailableSlotId(entity.getId()));
+            return entity;
+        }
+        AvailableSlotEntity entity = entityManager.find(AvailableSlotEntity.class, slot.getId().value());
+        if (entity == null) {
+            throw new IllegalArgumentException("Available slot %d not found".formatted(slot.getId().value()));
+        }
+        mapper.updateEntity(slot, entity);
+        return entity;
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.AvailableSlotEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.index.FreeSlotIndex;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.AvailableSlotJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+@UtilityClass
+class FreeSlotIndexes {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    /**
+     * Adds every free slot in {@code available_slots} to {@code index}, reading by id in keyset batches.
+     */
+    void loadInto(FreeSlotIndex index, AvailableSlotJpaRepository availableSlotJpaRepository) {
+        long lastId = 0L;
+        List<AvailableSlotEntity> batch;
+        do {
+            batch = availableSlotJpaRepository.findByIsReservedFalseAndIdGreaterThanOrderByIdAsc(
+                    lastId, Limit.of(LOAD_BATCH_SIZE));
+            index.addAll(batch.stream().map(FreeSlotIndexes::toEntry).toList());
+            if (!batch.isEmpty()) {
+                lastId = batch.getLast().getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+    }
+
+    FreeSlotIndex.Entry toEntry(AvailableSlotEntity entity) {
+        return new FreeSlotIndex.Entry(entity.getId(), entity.getStartTime(), entity.getEndTime());
+    }
+
+    AvailableSlot toDomain(FreeSlotIndex.Entry entry) {
+        return AvailableSlot.builder()
+                .id(new AvailableSlotId(entry.id()))
+                .startTime(entry.startTime())
+                .endTime(entry.endTime())
+                .isReserved(false)
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.IdempotencyKeyRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.IdempotencyRecord;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.IdempotencyKeyEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.ReservationIds;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.IdempotencyKeyJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyRepositoryImpl implements IdempotencyKeyRepository {
+
+    private final IdempotencyKeyJpaRepository idempotencyKeyJpaRepository;
+
+    @Override
+    public Optional<IdempotencyRecord> find(UserId userId, String idempotencyKey, Instant createdAfter) {
+        return idempotencyKeyJpaRepository.findUnexpired(userId.value(), idempotencyKey, createdAfter)
+                .map(entity -> new IdempotencyRecord(
+                        ReservationIds.fromUuid(entity.getReservationId()), entity.getRequestFingerprint()));
+    }
+
+    /**
+     * Flushes the insert so that a concurrent request with the same key fails here, before its transaction
+     * commits a second reservation. An expired row still holds the key until the purge removes it, so it is
+     * deleted first; only an unexpired row makes the insert fail.
+     */
+    @Override
+    @Transactional
+    public void save(UserId userId, String idempotencyKey, IdempotencyRecord record, Instant createdAt,
+                     Instant expiredBefore) {
+        try {
+            idempotencyKeyJpaRepository.deleteExpired(userId.value(), idempotencyKey, expiredBefore);
+            idempotencyKeyJpaRepository.saveAndFlush(IdempotencyKeyEntity.builder()
+                    .id(new IdempotencyKeyEntity.Key(userId.value(), idempotencyKey))
+                    .reservationId(ReservationIds.toUuid(record.reservationId()))
+                    .requestFingerprint(record.requestFingerprint())
+                    .createdAt(createdAt)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(
+                    "A request with Idempotency-Key %s is already being processed".formatted(idempotencyKey), e);
+        }
+    }
+
+    @Override
+    public int deleteCreatedBefore(Instant cutoff) {
+        return idempotencyKeyJpaRepository.deleteCreatedBefore(cutoff);
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.AvailableSlotRepository;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.AvailableSlotEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.index.FreeSlotIndex;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.AvailableSlotDataMapper;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.AvailableSlotJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves slot claims from an in-memory {@link FreeSlotIndex} instead of a locking query.
+ * Slot state is written through to {@code available_slots}; the index is rebuilt from it on startup.
+ * The index is owned by this JVM, so this mode assumes a single application instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reservation.slots.allocation", havingValue = "in-memory")
+public class InMemoryAvailableSlotRepositoryImpl implements AvailableSlotRepository {
+
+    private final AvailableSlotJpaRepository availableSlotJpaRepository;
+    private final AvailableSlotDataMapper availableSlotDataMapper;
+    private final EntityManager entityManager;
+    private final SlotClaimMetrics slotClaimMetrics;
+    private final FreeSlotIndex freeSlotIndex = new FreeSlotIndex();
+
+    @PostConstruct
+    public void rebuildIndex() {
+        freeSlotIndex.clear();
+        FreeSlotIndexes.loadInto(freeSlotIndex, availableSlotJpaRepository);
+        log.info("Free slot index rebuilt with {} slots", freeSlotIndex.size());
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        slotClaimMetrics.monitorFreeSlots(this, InMemoryAvailableSlotRepositoryImpl::indexedSlotCount);
+    }
+
+    @Override
+    public Optional<AvailableSlot> findAndLockNearestAvailableSlot(Instant requestedTime) {
+        return slotClaimMetrics.claimed(freeSlotIndex.claimNearest(requestedTime)
+                .map(entry -> {
+                    onRollback(() -> freeSlotIndex.release(entry));
+                    return FreeSlotIndexes.toDomain(entry);
+                }));
+    }
+
+    @Override
+    public List<Optional<AvailableSlot>> findAndLockNearestAvailableSlots(List<Instant> requestedTimes) {
+        return requestedTimes.stream()
+                .map(this::findAndLockNearestAvailableSlot)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public AvailableSlot save(AvailableSlot slot) {
+        writeThroughToIndex(AvailableSlotUpdates.write(entityManager, availableSlotDataMapper, slot));
+        return slot;
+    }
+
+    @Override
+    @Transactional
+    public List<AvailableSlot> saveAll(List<AvailableSlot> slots) {
+        JdbcBatching.batchUpTo(entityManager, slots.size());
+        slots.forEach(slot -> writeThroughToIndex(AvailableSlotUpdates.write(entityManager, availableSlotDataMapper, slot)));
+        return slots;
+    }
+
+    @Override
+    public List<AvailableSlot> findAvailable(Instant from, Instant to, int limit) {
+        return freeSlotIndex.findFree(from, to, limit).stream()
+                .map(FreeSlotIndexes::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Optional<AvailableSlot> findById(AvailableSlotId id) {
+        return availableSlotJpaRepository.findById(id.value())
+                .map(availableSlotDataMapper::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public int insertAll(List<AvailableSlot> slots) {
+        JdbcBatching.batchUpTo(entityManager, slots.size());
+        List<AvailableSlotEntity> inserted =
+                availableSlotJpaRepository.saveAll(slots.stream().map(availableSlotDataMapper::toEntity).toList());
+        inserted.forEach(this::writeThroughToIndex);
+        return inserted.size();
+    }
+
+    @Override
+    public Optional<AvailableSlot> release(AvailableSlotId id) {
+        return AvailableSlotUpdates.release(entityManager, id.value())
+                .map(released -> {
+                    writeThroughToIndex(released);
+                    return availableSlotDataMapper.toDomain(released);
+                });
+    }
+
+    int indexedSlotCount() {
+        return freeSlotIndex.size();
+    }
+
+    private void writeThroughToIndex(AvailableSlotEntity savedEntity) {
+        FreeSlotIndex.Entry entry = FreeSlotIndexes.toEntry(savedEntity);
+        if (Boolean.TRUE.equals(savedEntity.getIsReserved())) {
+            freeSlotIndex.remove(entry);
+        } else {
+            afterCommit(() -> freeSlotIndex.release(entry));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import jakarta.persistence.EntityManager;
+import lombok.experimental.UtilityClass;
+import org.hibernate.Session;
+
+@UtilityClass
+class JdbcBatching {
+
+    /**
+     * Raises the JDBC batch size of the current session so that {@code statementCount} writes of the same
+     * kind are sent to the database in a single batch at flush time.
+     */
+    void batchUpTo(EntityManager entityManager, int statementCount) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer current = session.getJdbcBatchSize();
+        if (current == null || current < statementCount) {
+            session.setJdbcBatchSize(statementCount);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.OutboxEventEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.OutboxEventJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.event.DomainEvent;
+import com.github.mehrdadfalahati.reservation.service.domain.event.ReservationCancelledEvent;
+import com.github.mehrdadfalahati.reservation.service.domain.event.ReservationCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends domain events to {@code reservation_outbox} in the caller's transaction. The aggregate id is taken
+ * from the saved row because events registered on create carry no id yet.
+ */
+@Component
+@RequiredArgsConstructor
+class OutboxEventWriter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final OutboxEventJpaRepository outboxEventJpaRepository;
+
+    void append(String aggregateId, List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        outboxEventJpaRepository.saveAll(events.stream()
+                .map(event -> OutboxEventEntity.builder()
+                        .aggregateId(aggregateId)
+                        .eventType(event.getClass().getSimpleName())
+                        .payload(toJson(aggregateId, event))
+                        .occurredAt(event.occurredOn())
+                        .createdAt(now)
+                        .build())
+                .toList());
+    }
+
+    private String toJson(String aggregateId, DomainEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("reservationId", aggregateId);
+        switch (event) {
+            case ReservationCreatedEvent created -> {
+                payload.put("userId", created.userId().value());
+                payload.put("slotId", created.slotId().value());
+                payload.put("reservedAt", created.reservedAt().toString());
+            }
+            case ReservationCancelledEvent cancelled -> {
+                payload.put("userId", cancelled.userId().value());
+                payload.put("slotId", cancelled.slotId().value());
+                payload.put("cancelledAt", cancelled.cancelledAt().toString());
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unsupported domain event " + event.getClass().getName());
+        }
+        payload.put("occurredOn", event.occurredOn().toString());
+        try {
+            return OBJECT_MAPPER.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
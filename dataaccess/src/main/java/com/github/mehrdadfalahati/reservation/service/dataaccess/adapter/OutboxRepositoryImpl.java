@@ -0,0 +1,47 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxMessage;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.OutboxRepository;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.OutboxEventJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxRepositoryImpl implements OutboxRepository {
+
+    private final OutboxEventJpaRepository outboxEventJpaRepository;
+
+    @Override
+    public List<OutboxMessage> claimOldest(int limit) {
+        return outboxEventJpaRepository.findOldestSkipLocked(Limit.of(limit))
+                .stream()
+                .map(entity -> new OutboxMessage(
+                        entity.getId(),
+                        entity.getAggregateId(),
+                        entity.getEventType(),
+                        entity.getPayload(),
+                        entity.getOccurredAt()))
+                .toList();
+    }
+
+    @Override
+    public void deleteAll(List<Long> ids) {
+        outboxEventJpaRepository.deleteByIdIn(ids);
+    }
+
+    @Override
+    public long countPending() {
+        return outboxEventJpaRepository.count();
+    }
+
+    @Override
+    public Optional<Instant> findOldestOccurredOn() {
+        return outboxEventJpaRepository.findOldestOccurredAt();
+    }
+}
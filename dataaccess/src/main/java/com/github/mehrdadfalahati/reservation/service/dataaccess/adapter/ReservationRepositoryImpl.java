@@ -3,15 +3,30 @@ package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationRepository;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.ReservationEntity;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.ReservationDataMapper;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.ReservationIds;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.ReservationJpaRepository;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.event.ReservationCancelledEvent;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -19,17 +34,76 @@ public class ReservationRepositoryImpl implements ReservationRepository {
 
     private final ReservationJpaRepository reservationJpaRepository;
     private final ReservationDataMapper reservationDataMapper;
+    private final EntityManager entityManager;
+    private final OutboxEventWriter outboxEventWriter;
 
+    private static final String USER_FOREIGN_KEY = "fk_reservations_user";
+
+    private static final String CANCEL_ACTIVE = "UPDATE reservations " +
+            "SET status = :cancelled, cancelled_at = :cancelledAt, updated_at = :cancelledAt, version = version + 1 " +
+            "WHERE id = :id AND user_id = :userId AND status = :active";
+
+    private static final Map<String, Class<?>> RESERVATION_COLUMNS = Map.of(
+            "id", UUID.class,
+            "user_id", Long.class,
+            "available_slot_id", Long.class,
+            "status", String.class,
+            "reserved_at", Instant.class,
+            "cancelled_at", Instant.class,
+            "created_at", Instant.class,
+            "updated_at", Instant.class,
+            "version", Long.class);
+
+    /**
+     * Flushes the insert so that a reservation for a user that does not exist fails here, as an
+     * {@link IllegalArgumentException}, rather than at commit. Callers holding a trusted user id rely on this
+     * instead of looking the user up first.
+     * <p>
+     * A reservation that was saved before is applied in place to its managed entity instead of being merged, so
+     * the flush sends a single UPDATE and no copy of the entity is built. It is looked up in the persistence
+     * context first, which holds it when it was loaded earlier in the same transaction. New reservations, with no
+     * id or an id that is not stored yet, are persisted.
+     */
     @Override
+    @Transactional
     public Reservation save(Reservation reservation) {
-        ReservationEntity entity = reservationDataMapper.toEntity(reservation);
-        ReservationEntity savedEntity = reservationJpaRepository.save(entity);
+        ReservationEntity savedEntity;
+        try {
+            savedEntity = write(reservation);
+            reservationJpaRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, USER_FOREIGN_KEY)) {
+                throw new IllegalArgumentException("User %d not found".formatted(reservation.getUserId().value()), e);
+            }
+            throw e;
+        }
+        outboxEventWriter.append(aggregateId(savedEntity), reservation.getDomainEvents());
+        reservation.clearDomainEvents();
         return reservationDataMapper.toDomain(savedEntity);
     }
 
+    /**
+     * Writes each reservation like {@link #save(Reservation)}, persisting new ones and updating stored ones in
+     * place, but leaves the statements to the transaction's flush so that they are sent as JDBC batches.
+     */
+    @Override
+    @Transactional
+    public List<Reservation> saveAll(List<Reservation> reservations) {
+        JdbcBatching.batchUpTo(entityManager, reservations.size());
+        List<ReservationEntity> savedEntities = reservations.stream().map(this::write).toList();
+        for (int i = 0; i < reservations.size(); i++) {
+            outboxEventWriter.append(aggregateId(savedEntities.get(i)), reservations.get(i).getDomainEvents());
+            reservations.get(i).clearDomainEvents();
+        }
+        return savedEntities.stream()
+                .map(reservationDataMapper::toDomain)
+                .toList();
+    }
+
     @Override
     public Optional<Reservation> findById(ReservationId id) {
-        return reservationJpaRepository.findById(id.value())
+        return ReservationIds.parse(id)
+                .flatMap(reservationJpaRepository::findById)
                 .map(reservationDataMapper::toDomain);
     }
 
@@ -40,4 +114,100 @@ public class ReservationRepositoryImpl implements ReservationRepository {
                 .map(reservationDataMapper::toDomain)
                 .toList();
     }
+
+    @Override
+    public Optional<Reservation> cancelActive(ReservationId id, UserId userId, Instant cancelledAt) {
+        Optional<UUID> storedId = ReservationIds.parse(id);
+        if (storedId.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Tuple> rows = UpdateReturning.execute(entityManager, CANCEL_ACTIVE, RESERVATION_COLUMNS, Map.of(
+                "cancelled", ReservationStatus.CANCELLED.name(),
+                "active", ReservationStatus.ACTIVE.name(),
+                "cancelledAt", cancelledAt,
+                "id", storedId.get(),
+                "userId", userId.value()));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        ReservationEntity cancelled = toEntity(rows.getFirst());
+        outboxEventWriter.append(id.value(), List.of(new ReservationCancelledEvent(
+                id, userId, new AvailableSlotId(cancelled.getAvailableSlotId()), cancelled.getCancelledAt())));
+        return Optional.of(reservationDataMapper.toDomain(cancelled));
+    }
+
+    @Override
+    public List<Reservation> findActiveWithSlotEndedBefore(Instant cutoff, ReservationId afterId, int limit) {
+        return reservationJpaRepository.findByStatusWithSlotEndedBefore(
+                        ReservationStatus.ACTIVE,
+                        cutoff,
+                        afterId != null ? ReservationIds.toUuid(afterId) : null,
+                        Limit.of(limit))
+                .stream()
+                .map(reservationDataMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public int markExpired(List<ReservationId> ids, Instant expiredAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return reservationJpaRepository.updateStatus(
+                ids.stream().map(ReservationIds::toUuid).toList(),
+                ReservationStatus.ACTIVE,
+                ReservationStatus.EXPIRED,
+                expiredAt);
+    }
+
+    private ReservationEntity write(Reservation reservation) {
+        ReservationEntity entity = managedEntity(reservation);
+        if (entity == null) {
+            entity = reservationDataMapper.toEntity(reservation);
+            entityManager.persist(entity);
+        } else {
+            reservationDataMapper.updateEntity(reservation, entity);
+        }
+        return entity;
+    }
+
+    /**
+     * @return the managed entity of {@code reservation}, or {@code null} if it is not stored yet
+     * @throws ObjectOptimisticLockingFailureException if the reservation was changed since {@code reservation}
+     * was read, as a merge would
+     */
+    private ReservationEntity managedEntity(Reservation reservation) {
+        if (reservation.getId() == null) {
+            return null;
+        }
+        UUID id = ReservationIds.toUuid(reservation.getId());
+        ReservationEntity entity = entityManager.find(ReservationEntity.class, id);
+        if (entity != null && !entity.getVersion().equals(reservation.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(ReservationEntity.class, id);
+        }
+        return entity;
+    }
+
+    private static String aggregateId(ReservationEntity entity) {
+        return ReservationIds.fromUuid(entity.getId()).value();
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(constraintName);
+    }
+
+    private static ReservationEntity toEntity(Tuple row) {
+        return ReservationEntity.builder()
+                .id(row.get("id", UUID.class))
+                .userId(row.get("user_id", Long.class))
+                .availableSlotId(row.get("available_slot_id", Long.class))
+                .status(ReservationStatus.valueOf(row.get("status", String.class)))
+                .reservedAt(row.get("reserved_at", Instant.class))
+                .cancelledAt(row.get("cancelled_at", Instant.class))
+                .createdAt(row.get("created_at", Instant.class))
+                .updatedAt(row.get("updated_at", Instant.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
 }
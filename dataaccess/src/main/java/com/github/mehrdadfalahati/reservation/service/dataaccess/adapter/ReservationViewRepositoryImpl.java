@@ -0,0 +1,52 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationCriteria;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationViewRepository;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationView;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.ReservationIds;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.ReservationJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds {@link ReservationView}s straight from the scalar columns of the page query, skipping entity
+ * hydration, dirty-checking snapshots and the {@code Reservation} aggregate in between.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationViewRepositoryImpl implements ReservationViewRepository {
+
+    private final ReservationJpaRepository reservationJpaRepository;
+
+    @Override
+    public List<ReservationView> findByCriteria(ReservationCriteria criteria) {
+        return reservationJpaRepository.findPageByUserId(
+                        criteria.userId().value(),
+                        criteria.afterId() != null ? ReservationIds.toUuid(criteria.afterId()) : null,
+                        criteria.status(),
+                        criteria.reservedFrom(),
+                        criteria.reservedTo(),
+                        Limit.of(criteria.limit()))
+                .stream()
+                .map(ReservationViewRepositoryImpl::toView)
+                .toList();
+    }
+
+    private static ReservationView toView(Object[] row) {
+        return new ReservationView(
+                ReservationIds.toUlid((UUID) row[0]),
+                (Long) row[1],
+                (Long) row[2],
+                (ReservationStatus) row[3],
+                (Instant) row[4],
+                (Instant) row[5],
+                (Instant) row[6],
+                (Instant) row[7]);
+    }
+}
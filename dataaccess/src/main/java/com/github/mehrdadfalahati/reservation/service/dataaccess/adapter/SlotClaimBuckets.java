@@ -0,0 +1,114 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Claim state for {@link SlotClaimStrategy#BUCKETED}. Slots are grouped by start time into buckets of
+ * {@code reservation.slots.bucket-size}. Every bucket has its own lock, its own set of in-flight claims and a
+ * cursor before which it holds no free slot, so claims for different buckets never wait for each other and
+ * claims for the same bucket start scanning at the cursor instead of walking over reserved rows.
+ */
+@Component
+@ConditionalOnProperty(name = "reservation.slots.allocation", havingValue = "database", matchIfMissing = true)
+class SlotClaimBuckets {
+
+    private final long bucketMillis;
+    private final ConcurrentMap<Instant, Bucket> buckets = new ConcurrentHashMap<>();
+
+    SlotClaimBuckets(@Value("${reservation.slots.bucket-size:PT1H}") Duration bucketSize) {
+        if (bucketSize.toMillis() <= 0) {
+            throw new IllegalArgumentException("reservation.slots.bucket-size must be positive");
+        }
+        this.bucketMillis = bucketSize.toMillis();
+    }
+
+    Bucket bucketOf(Instant time) {
+        return buckets.computeIfAbsent(bucketStart(time),
+                start -> new Bucket(start, start.plusMillis(bucketMillis)));
+    }
+
+    /**
+     * A slot starting at {@code startTime} is free again: its claim rolled back, or it was released or added.
+     */
+    void slotFreed(Instant startTime) {
+        Bucket bucket = buckets.get(bucketStart(startTime));
+        if (bucket != null) {
+            bucket.rewindTo(startTime);
+        }
+    }
+
+    /**
+     * Rewinds every cursor to the start of its bucket, picking up slots freed by other instances, and forgets
+     * buckets that ended before {@code now}.
+     */
+    void reset(Instant now) {
+        buckets.values().removeIf(bucket -> !bucket.end().isAfter(now));
+        buckets.values().forEach(bucket -> bucket.rewindTo(bucket.start()));
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private Instant bucketStart(Instant time) {
+        return Instant.ofEpochMilli(Math.floorDiv(time.toEpochMilli(), bucketMillis) * bucketMillis);
+    }
+
+    static final class Bucket {
+
+        private final Instant start;
+        private final Instant end;
+        // a ReentrantLock rather than synchronized: claims run JDBC calls while holding it and must not pin
+        // virtual threads
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Set<Long> claimsInFlight = ConcurrentHashMap.newKeySet();
+        private final AtomicReference<Instant> firstFree;
+
+        private Bucket(Instant start, Instant end) {
+            this.start = start;
+            this.end = end;
+            this.firstFree = new AtomicReference<>(start);
+        }
+
+        Instant start() {
+            return start;
+        }
+
+        Instant end() {
+            return end;
+        }
+
+        ReentrantLock lock() {
+            return lock;
+        }
+
+        Set<Long> claimsInFlight() {
+            return claimsInFlight;
+        }
+
+        Instant firstFree() {
+            return firstFree.get();
+        }
+
+        /**
+         * Moves the cursor from {@code observed} to {@code to}, unless a freed slot rewound it in the meantime.
+         */
+        void advance(Instant observed, Instant to) {
+            firstFree.compareAndSet(observed, to);
+        }
+
+        void rewindTo(Instant startTime) {
+            firstFree.accumulateAndGet(startTime, (current, freed) -> freed.isBefore(current) ? freed : current);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Meters of the slot claim path: {@code reservation.slots.lock.wait} times the locking step of each claim
+ * (the locking query, or the bucket lock), {@code reservation.slots.claims} counts claims by outcome and
+ * {@code reservation.slots.free} reports the free slots known to this instance.
+ */
+@Component
+class SlotClaimMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<SlotClaimStrategy, Timer> lockWaits = new EnumMap<>(SlotClaimStrategy.class);
+    private final Counter claimed;
+    private final Counter noSlot;
+
+    SlotClaimMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (SlotClaimStrategy strategy : SlotClaimStrategy.values()) {
+            if (strategy != SlotClaimStrategy.OPTIMISTIC) {
+                lockWaits.put(strategy, Timer.builder("reservation.slots.lock.wait")
+                        .description("Time spent acquiring the lock of a slot claim")
+                        .tag("strategy", strategy.name().toLowerCase(Locale.ROOT))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+        }
+        this.claimed = claims("claimed");
+        this.noSlot = claims("no_slot");
+    }
+
+    /**
+     * Timer for the locking step of {@code strategy}; the optimistic strategy takes no lock and has none.
+     */
+    Timer lockWait(SlotClaimStrategy strategy) {
+        return lockWaits.get(strategy);
+    }
+
+    <T> Optional<T> claimed(Optional<T> slot) {
+        (slot.isPresent() ? claimed : noSlot).increment();
+        return slot;
+    }
+
+    <T> void monitorFreeSlots(T source, ToDoubleFunction<T> freeSlots) {
+        Gauge.builder("reservation.slots.free", source, freeSlots)
+                .description("Free slots in this instance's availability index")
+                .register(meterRegistry);
+    }
+
+    private Counter claims(String outcome) {
+        return Counter.builder("reservation.slots.claims")
+                .description("Slot claims by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+/**
+ * How {@link AvailableSlotRepositoryImpl} claims the nearest free slot.
+ */
+public enum SlotClaimStrategy {
+
+    /**
+     * {@code SELECT ... FOR UPDATE} on the nearest free row; concurrent requests queue on that row.
+     */
+    PESSIMISTIC,
+
+    /**
+     * {@code SELECT ... FOR UPDATE SKIP LOCKED}; requests move on to the next free row instead of waiting.
+     * Needs a database with SKIP LOCKED support (PostgreSQL), otherwise behaves like {@link #PESSIMISTIC}.
+     */
+    SKIP_LOCKED,
+
+    /**
+     * Unlocked candidate read followed by a compare-and-set {@code UPDATE ... WHERE is_reserved = false},
+     * retried on the next candidate when another transaction won the row. Works on any database, including H2.
+     */
+    OPTIMISTIC,
+
+    /**
+     * {@link #OPTIMISTIC} claims partitioned into start-time buckets ({@code reservation.slots.bucket-size}).
+     * Each bucket claims under its own lock and starts its candidate scan at a cached first-free cursor, so
+     * requests for different times do not contend and requests for the same time skip rows known to be taken.
+     */
+    BUCKETED
+}
@@ -0,0 +1,43 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.experimental.UtilityClass;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.util.List;
+import java.util.Map;
+
+@UtilityClass
+class UpdateReturning {
+
+    /**
+     * Runs {@code update} and reads the updated rows back in the same statement: {@code UPDATE ... RETURNING}
+     * on PostgreSQL, {@code SELECT ... FROM FINAL TABLE (UPDATE ...)} on H2. {@code columns} maps each returned
+     * column to its Java type. The rows are plain tuples and never enter the persistence context.
+     */
+    List<Tuple> execute(EntityManager entityManager,
+                        String update,
+                        Map<String, Class<?>> columns,
+                        Map<String, Object> parameters) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        String columnList = String.join(", ", columns.keySet());
+        Dialect dialect = session.getFactory().getJdbcServices().getDialect();
+        String sql;
+        if (dialect instanceof PostgreSQLDialect) {
+            sql = update + " RETURNING " + columnList;
+        } else if (dialect instanceof H2Dialect) {
+            sql = "SELECT " + columnList + " FROM FINAL TABLE (" + update + ")";
+        } else {
+            throw new IllegalStateException("UPDATE with returned rows is not supported on " + dialect);
+        }
+        NativeQuery<Tuple> query = session.createNativeQuery(sql, Tuple.class);
+        columns.forEach(query::addScalar);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
@@ -4,6 +4,7 @@ import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.o
 import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.UserDataMapper;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.UserJpaRepository;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.User;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Password;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Username;
 import lombok.RequiredArgsConstructor;
@@ -29,4 +30,9 @@ public class UserRepositoryImpl implements UserRepository {
         return userJpaRepository.findByUsername(username.value())
                 .map(userDataMapper::toDomain);
     }
+
+    @Override
+    public boolean replacePassword(Username username, String currentPassword, Password newPassword) {
+        return userJpaRepository.updatePassword(username.value(), currentPassword, newPassword.value()) > 0;
+    }
 }
@@ -15,7 +15,8 @@ import java.util.Objects;
 public class AvailableSlotEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "available_slots_seq")
+    @SequenceGenerator(name = "available_slots_seq", sequenceName = "available_slots_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_time", nullable = false)
@@ -7,6 +7,7 @@ import lombok.*;
 
 import java.time.Instant;
 import java.util.Objects;
+import java.util.UUID;
 
 @Getter
 @Setter
@@ -17,9 +18,12 @@ import java.util.Objects;
 @Table(name = "reservations")
 public class ReservationEntity {
 
+    /**
+     * The reservation's ULID as 16 bytes; see {@code ReservationIds}.
+     */
     @Id
-    @Column(length = 26)
-    private String id;
+    @Column(name = "id", nullable = false)
+    private UUID id;
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
@@ -50,7 +54,7 @@ public class ReservationEntity {
     @PrePersist
     public void init() {
         if (id == null) {
-            id = UlidCreator.getUlid().toString();
+            id = UlidCreator.getUlid().toUuid();
         }
     }
 
@@ -0,0 +1,80 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.index;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Concurrent index of free slots ordered by start time (ties broken by id).
+ * A slot can be claimed by exactly one caller: the skip list removal is the atomic claim.
+ */
+public class FreeSlotIndex {
+
+    private final ConcurrentSkipListSet<Entry> freeSlots = new ConcurrentSkipListSet<>();
+
+    public Optional<Entry> claimNearest(Instant requestedTime) {
+        Entry probe = Entry.probe(requestedTime);
+        Entry candidate;
+        while ((candidate = freeSlots.ceiling(probe)) != null) {
+            if (freeSlots.remove(candidate)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Free slots starting at or after {@code from} and before {@code to} (unbounded when {@code null}),
+     * earliest first, at most {@code limit}. Runs in O(log n + limit) without claiming anything.
+     */
+    public List<Entry> findFree(Instant from, Instant to, int limit) {
+        List<Entry> found = new ArrayList<>(Math.min(limit, 64));
+        for (Entry entry : freeSlots.tailSet(Entry.probe(from))) {
+            if (found.size() == limit || (to != null && !entry.startTime().isBefore(to))) {
+                break;
+            }
+            found.add(entry);
+        }
+        return found;
+    }
+
+    public void release(Entry entry) {
+        freeSlots.add(entry);
+    }
+
+    public void remove(Entry entry) {
+        freeSlots.remove(entry);
+    }
+
+    public void addAll(Collection<Entry> entries) {
+        freeSlots.addAll(entries);
+    }
+
+    public void clear() {
+        freeSlots.clear();
+    }
+
+    public int size() {
+        return freeSlots.size();
+    }
+
+    public record Entry(long id, Instant startTime, Instant endTime) implements Comparable<Entry> {
+
+        private static final Comparator<Entry> ORDER = Comparator
+                .comparing(Entry::startTime)
+                .thenComparingLong(Entry::id);
+
+        static Entry probe(Instant startTime) {
+            return new Entry(Long.MIN_VALUE, startTime, startTime);
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.Availabl
 import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface AvailableSlotDataMapper {
@@ -12,6 +14,12 @@ public interface AvailableSlotDataMapper {
 
     AvailableSlotEntity toEntity(AvailableSlot slot);
 
+    /**
+     * Copies the slot's state onto an entity that is already managed.
+     */
+    @Mapping(target = "id", ignore = true)
+    void updateEntity(AvailableSlot slot, @MappingTarget AvailableSlotEntity entity);
+
     default AvailableSlotId map(Long value) {
         return value != null ? new AvailableSlotId(value) : null;
     }
@@ -6,6 +6,10 @@ import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Availab
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import java.util.UUID;
 
 @Mapper(componentModel = "spring")
 public interface ReservationDataMapper {
@@ -14,12 +18,21 @@ public interface ReservationDataMapper {
 
     ReservationEntity toEntity(Reservation reservation);
 
-    default ReservationId mapReservationId(String value) {
-        return value != null ? new ReservationId(value) : null;
+    /**
+     * Copies the aggregate's state onto an entity that is already managed; identity, version and creation time
+     * stay as loaded.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    void updateEntity(Reservation reservation, @MappingTarget ReservationEntity entity);
+
+    default ReservationId mapReservationId(UUID value) {
+        return value != null ? ReservationIds.fromUuid(value) : null;
     }
 
-    default String mapReservationId(ReservationId reservationId) {
-        return reservationId != null ? reservationId.value() : null;
+    default UUID mapReservationId(ReservationId reservationId) {
+        return reservationId != null ? ReservationIds.toUuid(reservationId) : null;
     }
 
     default UserId mapUserId(Long value) {
@@ -0,0 +1,39 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.mapper;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import lombok.experimental.UtilityClass;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Converts between the 26-character ULID of a {@link ReservationId} and the 16 bytes it is stored as. The bytes
+ * are carried in a {@link UUID}, which Hibernate binds as the native {@code UUID} type of H2 and PostgreSQL;
+ * both compare it byte by byte, so ids keep the creation-time order their ULID text has.
+ */
+@UtilityClass
+public class ReservationIds {
+
+    /**
+     * @throws IllegalArgumentException if the id is not a ULID
+     */
+    public UUID toUuid(ReservationId id) {
+        return parse(id).orElseThrow(() -> new IllegalArgumentException("Invalid reservation id: " + id.value()));
+    }
+
+    /**
+     * @return the stored form of the id, or empty if it is not a ULID and so cannot match any reservation
+     */
+    public Optional<UUID> parse(ReservationId id) {
+        return Ulid.isValid(id.value()) ? Optional.of(Ulid.from(id.value()).toUuid()) : Optional.empty();
+    }
+
+    public ReservationId fromUuid(UUID uuid) {
+        return new ReservationId(toUlid(uuid));
+    }
+
+    public String toUlid(UUID uuid) {
+        return Ulid.from(uuid).toString();
+    }
+}
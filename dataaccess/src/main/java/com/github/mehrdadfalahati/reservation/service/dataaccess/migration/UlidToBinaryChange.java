@@ -0,0 +1,80 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.migration;
+
+import com.github.f4b6a3.ulid.Ulid;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Fills {@code targetColumn} with the 16-byte form of the ULID text in {@code sourceColumn}, for every row of
+ * {@code tableName}. Liquibase change used while moving reservation ids from {@code VARCHAR(26)} to {@code UUID};
+ * rows are updated in JDBC batches of {@value #BATCH_SIZE}.
+ */
+@Getter
+@Setter
+public class UlidToBinaryChange implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private String tableName;
+    private String sourceColumn;
+    private String targetColumn;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        JdbcConnection connection = (JdbcConnection) database.getConnection();
+        String select = "SELECT DISTINCT " + sourceColumn + " FROM " + tableName;
+        String update = "UPDATE " + tableName + " SET " + targetColumn + " = ? WHERE " + sourceColumn + " = ?";
+        try (Statement query = connection.createStatement();
+             ResultSet ulids = query.executeQuery(select);
+             PreparedStatement statement = connection.prepareStatement(update)) {
+            int pending = 0;
+            while (ulids.next()) {
+                String ulid = ulids.getString(1);
+                statement.setObject(1, Ulid.from(ulid).toUuid());
+                statement.setString(2, ulid);
+                statement.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        } catch (Exception e) {
+            throw new CustomChangeException("Cannot convert %s.%s to binary ULIDs".formatted(tableName, sourceColumn), e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Converted %s.%s to binary ULIDs in %s".formatted(tableName, sourceColumn, targetColumn);
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        errors.checkRequiredField("tableName", tableName);
+        errors.checkRequiredField("sourceColumn", sourceColumn);
+        errors.checkRequiredField("targetColumn", targetColumn);
+        return errors;
+    }
+}
@@ -2,24 +2,88 @@ package com.github.mehrdadfalahati.reservation.service.dataaccess.repository;
 
 import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.AvailableSlotEntity;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AvailableSlotJpaRepository extends JpaRepository<AvailableSlotEntity, Long> {
 
+    /**
+     * The free-slot predicate is a literal rather than a parameter so that PostgreSQL can match it against the
+     * partial index {@code idx_available_slots_free_start_time} in generic prepared-statement plans too; the
+     * lookup then reads free rows only, however many reserved slots precede them.
+     */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query(value = "SELECT s FROM AvailableSlotEntity s " +
-            "WHERE s.isReserved = :isReserved " +
+            "WHERE s.isReserved = false " +
             "AND s.startTime >= :requestedTime " +
-            "ORDER BY s.startTime ASC " +
+            "ORDER BY s.startTime ASC, s.id ASC " +
+            "LIMIT 1")
+    Optional<AvailableSlotEntity> findFirstAvailableSlotWithLock(@Param("requestedTime") Instant requestedTime);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "SELECT s FROM AvailableSlotEntity s " +
+            "WHERE s.isReserved = false " +
+            "AND s.startTime >= :requestedTime " +
+            "AND s.id NOT IN :excludedIds " +
+            "ORDER BY s.startTime ASC, s.id ASC " +
             "LIMIT 1")
-    Optional<AvailableSlotEntity> findFirstAvailableSlotWithLock(
+    Optional<AvailableSlotEntity> findFirstAvailableSlotWithLockExcluding(
             @Param("requestedTime") Instant requestedTime,
-            @Param("isReserved") Boolean isReserved
+            @Param("excludedIds") Collection<Long> excludedIds
+    );
+
+    /**
+     * Same as {@link #findFirstAvailableSlotWithLock} but rows locked by other transactions are skipped
+     * ({@code FOR UPDATE SKIP LOCKED}). Dialects without SKIP LOCKED support, such as H2, fall back to a plain
+     * {@code FOR UPDATE}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(value = "SELECT s FROM AvailableSlotEntity s " +
+            "WHERE s.isReserved = false " +
+            "AND s.startTime >= :requestedTime " +
+            "ORDER BY s.startTime ASC, s.id ASC " +
+            "LIMIT 1")
+    Optional<AvailableSlotEntity> findFirstAvailableSlotSkipLocked(@Param("requestedTime") Instant requestedTime);
+
+    @Query(value = "SELECT s FROM AvailableSlotEntity s " +
+            "WHERE s.isReserved = false " +
+            "AND s.startTime >= :requestedTime " +
+            "ORDER BY s.startTime ASC, s.id ASC")
+    List<AvailableSlotEntity> findAvailableSlotCandidates(@Param("requestedTime") Instant requestedTime, Limit limit);
+
+    @Query(value = "SELECT s FROM AvailableSlotEntity s " +
+            "WHERE s.isReserved = false " +
+            "AND s.startTime >= :from " +
+            "AND s.startTime < :to " +
+            "ORDER BY s.startTime ASC, s.id ASC")
+    List<AvailableSlotEntity> findAvailableSlotCandidatesBetween(
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            Limit limit
     );
+
+    @Query(value = "SELECT s.startTime FROM AvailableSlotEntity s " +
+            "WHERE s.isReserved = false " +
+            "AND s.startTime >= :from " +
+            "ORDER BY s.startTime ASC " +
+            "LIMIT 1")
+    Optional<Instant> findFirstAvailableStartTime(@Param("from") Instant from);
+
+    @Modifying
+    @Query("UPDATE AvailableSlotEntity s SET s.isReserved = true WHERE s.id = :id AND s.isReserved = false")
+    int claimIfAvailable(@Param("id") Long id);
+
+    List<AvailableSlotEntity> findByIsReservedFalseAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -0,0 +1,40 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.repository;
+
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyEntity, IdempotencyKeyEntity.Key> {
+
+    @Query("SELECT k FROM IdempotencyKeyEntity k " +
+            "WHERE k.id.userId = :userId " +
+            "AND k.id.idempotencyKey = :idempotencyKey " +
+            "AND k.createdAt > :createdAfter")
+    Optional<IdempotencyKeyEntity> findUnexpired(
+            @Param("userId") Long userId,
+            @Param("idempotencyKey") String idempotencyKey,
+            @Param("createdAfter") Instant createdAfter
+    );
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k " +
+            "WHERE k.id.userId = :userId " +
+            "AND k.id.idempotencyKey = :idempotencyKey " +
+            "AND k.createdAt <= :expiredBefore")
+    int deleteExpired(
+            @Param("userId") Long userId,
+            @Param("idempotencyKey") String idempotencyKey,
+            @Param("expiredBefore") Instant expiredBefore
+    );
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,39 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.repository;
+
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.OutboxEventEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventJpaRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Rows locked by other transactions are skipped ({@code FOR UPDATE SKIP LOCKED}), so that relays on several
+     * instances claim disjoint batches. Dialects without SKIP LOCKED support, such as H2, fall back to a plain
+     * {@code FOR UPDATE}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEventEntity e ORDER BY e.id ASC")
+    List<OutboxEventEntity> findOldestSkipLocked(Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEventEntity e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT MIN(e.occurredAt) FROM OutboxEventEntity e")
+    Optional<Instant> findOldestOccurredAt();
+}
@@ -1,11 +1,68 @@
 package com.github.mehrdadfalahati.reservation.service.dataaccess.repository;
 
 import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.ReservationEntity;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
-public interface ReservationJpaRepository extends JpaRepository<ReservationEntity, String> {
+public interface ReservationJpaRepository extends JpaRepository<ReservationEntity, UUID> {
 
     List<ReservationEntity> findByUserId(Long userId);
+
+    /**
+     * Keyset page over {@code idx_reservations_user_id_id}: ULID bytes sort by creation time, so
+     * {@code id > :afterId} continues where the previous page stopped without an offset scan. Rows are returned
+     * as scalar columns (id, userId, availableSlotId, status, reservedAt, cancelledAt, createdAt, updatedAt) so
+     * no entity is instantiated or registered in the persistence context.
+     */
+    @Query(value = "SELECT r.id, r.userId, r.availableSlotId, r.status, " +
+            "r.reservedAt, r.cancelledAt, r.createdAt, r.updatedAt " +
+            "FROM ReservationEntity r " +
+            "WHERE r.userId = :userId " +
+            "AND (:afterId IS NULL OR r.id > :afterId) " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "AND (:reservedFrom IS NULL OR r.reservedAt >= :reservedFrom) " +
+            "AND (:reservedTo IS NULL OR r.reservedAt < :reservedTo) " +
+            "ORDER BY r.id ASC")
+    List<Object[]> findPageByUserId(
+            @Param("userId") Long userId,
+            @Param("afterId") UUID afterId,
+            @Param("status") ReservationStatus status,
+            @Param("reservedFrom") Instant reservedFrom,
+            @Param("reservedTo") Instant reservedTo,
+            Limit limit
+    );
+
+    @Query(value = "SELECT r FROM ReservationEntity r " +
+            "JOIN AvailableSlotEntity s ON s.id = r.availableSlotId " +
+            "WHERE r.status = :status " +
+            "AND s.endTime < :cutoff " +
+            "AND (:afterId IS NULL OR r.id > :afterId) " +
+            "ORDER BY r.id ASC")
+    List<ReservationEntity> findByStatusWithSlotEndedBefore(
+            @Param("status") ReservationStatus status,
+            @Param("cutoff") Instant cutoff,
+            @Param("afterId") UUID afterId,
+            Limit limit
+    );
+
+    @Modifying
+    @Query(value = "UPDATE ReservationEntity r " +
+            "SET r.status = :newStatus, r.updatedAt = :updatedAt, r.version = r.version + 1 " +
+            "WHERE r.id IN :ids " +
+            "AND r.status = :currentStatus")
+    int updateStatus(
+            @Param("ids") Collection<UUID> ids,
+            @Param("currentStatus") ReservationStatus currentStatus,
+            @Param("newStatus") ReservationStatus newStatus,
+            @Param("updatedAt") Instant updatedAt
+    );
 }
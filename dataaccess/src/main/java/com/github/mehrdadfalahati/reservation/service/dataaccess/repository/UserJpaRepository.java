@@ -2,10 +2,25 @@ package com.github.mehrdadfalahati.reservation.service.dataaccess.repository;
 
 import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
 
     Optional<UserEntity> findByUsername(String username);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.password = :newPassword " +
+            "WHERE u.username = :username " +
+            "AND u.password = :currentPassword")
+    int updatePassword(
+            @Param("username") String username,
+            @Param("currentPassword") String currentPassword,
+            @Param("newPassword") String newPassword
+    );
 }
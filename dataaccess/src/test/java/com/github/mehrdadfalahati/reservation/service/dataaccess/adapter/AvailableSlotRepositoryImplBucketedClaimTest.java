@@ -0,0 +1,144 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.AvailableSlotEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.AvailableSlotJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "reservation.slots.claim-strategy=BUCKETED",
+        "reservation.slots.bucket-size=PT1H"
+})
+@ContextConfiguration(classes = com.github.mehrdadfalahati.reservation.service.dataaccess.config.TestDataAccessConfiguration.class)
+@ComponentScan(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess")
+class AvailableSlotRepositoryImplBucketedClaimTest {
+
+    @Autowired
+    private AvailableSlotRepositoryImpl availableSlotRepository;
+
+    @Autowired
+    private AvailableSlotJpaRepository availableSlotJpaRepository;
+
+    @Autowired
+    private SlotClaimBuckets slotClaimBuckets;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldClaimNearestSlotFromLaterBucket() {
+        // Given
+        Instant day = Instant.parse("2100-01-01T00:00:00Z");
+        availableSlotJpaRepository.save(slotEntity(day.plusSeconds(12 * 3600), false));
+        AvailableSlotEntity nearest = availableSlotJpaRepository.save(slotEntity(day.plusSeconds(10 * 3600), false));
+
+        // When
+        Optional<AvailableSlot> result = availableSlotRepository.findAndLockNearestAvailableSlot(day);
+
+        // Then
+        assertEquals(nearest.getId(), result.orElseThrow().getId().value());
+        assertTrue(result.get().getIsReserved());
+    }
+
+    @Test
+    void shouldSendOnlyTheClaimingUpdateWhenClaimedSlotIsSaved() {
+        // Given
+        Instant hour = Instant.parse("2100-01-05T10:00:00Z");
+        availableSlotJpaRepository.save(slotEntity(hour, false));
+        entityManager.flush();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        AvailableSlot claimed = availableSlotRepository.findAndLockNearestAvailableSlot(hour).orElseThrow();
+        claimed.setIsReserved(true);
+        availableSlotRepository.save(claimed);
+        entityManager.flush();
+
+        // Then
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // the candidate SELECT and the conditional UPDATE
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldAdvanceBucketCursorPastClaimedSlots() {
+        // Given
+        Instant hour = Instant.parse("2100-01-02T10:00:00Z");
+        AvailableSlotEntity first = availableSlotJpaRepository.save(slotEntity(hour, false));
+        AvailableSlotEntity second = availableSlotJpaRepository.save(slotEntity(hour.plusSeconds(1800), false));
+
+        // When
+        Optional<AvailableSlot> claimedFirst = availableSlotRepository.findAndLockNearestAvailableSlot(hour);
+        Optional<AvailableSlot> claimedSecond = availableSlotRepository.findAndLockNearestAvailableSlot(hour);
+        Instant cursorAfterClaims = slotClaimBuckets.bucketOf(hour).firstFree();
+        Optional<AvailableSlot> claimedThird = availableSlotRepository.findAndLockNearestAvailableSlot(hour);
+
+        // Then
+        assertEquals(first.getId(), claimedFirst.orElseThrow().getId().value());
+        assertEquals(second.getId(), claimedSecond.orElseThrow().getId().value());
+        assertEquals(second.getStartTime(), cursorAfterClaims);
+        assertTrue(claimedThird.isEmpty());
+        assertEquals(hour.plusSeconds(3600), slotClaimBuckets.bucketOf(hour).firstFree());
+    }
+
+    @Test
+    void shouldNotSkipEarlierSlotsForLaterRequestInSameBucket() {
+        // Given
+        Instant hour = Instant.parse("2100-01-03T10:00:00Z");
+        AvailableSlotEntity early = availableSlotJpaRepository.save(slotEntity(hour, false));
+        AvailableSlotEntity late = availableSlotJpaRepository.save(slotEntity(hour.plusSeconds(1800), false));
+
+        // When
+        Optional<AvailableSlot> claimedLate = availableSlotRepository.findAndLockNearestAvailableSlot(hour.plusSeconds(900));
+        Optional<AvailableSlot> claimedEarly = availableSlotRepository.findAndLockNearestAvailableSlot(hour);
+
+        // Then
+        assertEquals(late.getId(), claimedLate.orElseThrow().getId().value());
+        assertEquals(early.getId(), claimedEarly.orElseThrow().getId().value());
+    }
+
+    @Test
+    void shouldRewindBucketCursorWhenClaimRollsBack() {
+        // Given
+        Instant hour = Instant.parse("2100-01-04T10:00:00Z");
+        AvailableSlotEntity slot = availableSlotJpaRepository.save(slotEntity(hour.plusSeconds(1800), false));
+        availableSlotRepository.findAndLockNearestAvailableSlot(hour).orElseThrow();
+        SlotClaimBuckets.Bucket bucket = slotClaimBuckets.bucketOf(hour);
+        bucket.advance(bucket.firstFree(), bucket.end());
+
+        // When
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        // Then
+        assertEquals(slot.getStartTime(), bucket.firstFree());
+        assertTrue(bucket.claimsInFlight().isEmpty());
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private AvailableSlotEntity slotEntity(Instant startTime, boolean reserved) {
+        AvailableSlotEntity entity = new AvailableSlotEntity();
+        entity.setStartTime(startTime);
+        entity.setEndTime(startTime.plusSeconds(1800));
+        entity.setIsReserved(reserved);
+        return entity;
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.AvailableSlotEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.AvailableSlotJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "reservation.slots.claim-strategy=OPTIMISTIC")
+@ContextConfiguration(classes = com.github.mehrdadfalahati.reservation.service.dataaccess.config.TestDataAccessConfiguration.class)
+@ComponentScan(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess")
+class AvailableSlotRepositoryImplOptimisticClaimTest {
+
+    @Autowired
+    private AvailableSlotRepositoryImpl availableSlotRepository;
+
+    @Autowired
+    private AvailableSlotJpaRepository availableSlotJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldClaimNearestAvailableSlot() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        availableSlotJpaRepository.save(slotEntity(now.plusSeconds(7200), false));
+        AvailableSlotEntity nearest = availableSlotJpaRepository.save(slotEntity(now.plusSeconds(3600), false));
+
+        // When
+        Optional<AvailableSlot> result = availableSlotRepository.findAndLockNearestAvailableSlot(now);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(nearest.getId(), result.get().getId().value());
+        assertTrue(result.get().getIsReserved());
+    }
+
+    @Test
+    void shouldMarkClaimedSlotReservedInDatabase() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        AvailableSlotEntity slot = availableSlotJpaRepository.save(slotEntity(now.plusSeconds(3600), false));
+
+        // When
+        availableSlotRepository.findAndLockNearestAvailableSlot(now);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertTrue(availableSlotJpaRepository.findById(slot.getId()).orElseThrow().getIsReserved());
+    }
+
+    @Test
+    void shouldSendOnlyTheClaimingUpdateWhenClaimedSlotIsSaved() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        availableSlotJpaRepository.save(slotEntity(now.plusSeconds(3600), false));
+        entityManager.flush();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        AvailableSlot claimed = availableSlotRepository.findAndLockNearestAvailableSlot(now).orElseThrow();
+        claimed.setIsReserved(true);
+        availableSlotRepository.save(claimed);
+        entityManager.flush();
+
+        // Then
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // the candidate SELECT and the conditional UPDATE
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldMoveToNextSlotWhenNearestIsAlreadyClaimed() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        AvailableSlotEntity first = availableSlotJpaRepository.save(slotEntity(now.plusSeconds(3600), false));
+        AvailableSlotEntity second = availableSlotJpaRepository.save(slotEntity(now.plusSeconds(7200), false));
+
+        // When
+        Optional<AvailableSlot> claimedFirst = availableSlotRepository.findAndLockNearestAvailableSlot(now);
+        Optional<AvailableSlot> claimedSecond = availableSlotRepository.findAndLockNearestAvailableSlot(now);
+
+        // Then
+        assertEquals(first.getId(), claimedFirst.orElseThrow().getId().value());
+        assertEquals(second.getId(), claimedSecond.orElseThrow().getId().value());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenAllSlotsAreReserved() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        availableSlotJpaRepository.save(slotEntity(now.plusSeconds(3600), true));
+
+        // When
+        Optional<AvailableSlot> result = availableSlotRepository.findAndLockNearestAvailableSlot(now);
+
+        // Then
+        assertFalse(result.isPresent());
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private AvailableSlotEntity slotEntity(Instant startTime, boolean reserved) {
+        AvailableSlotEntity entity = new AvailableSlotEntity();
+        entity.setStartTime(startTime);
+        entity.setEndTime(startTime.plusSeconds(1800));
+        entity.setIsReserved(reserved);
+        return entity;
+    }
+}
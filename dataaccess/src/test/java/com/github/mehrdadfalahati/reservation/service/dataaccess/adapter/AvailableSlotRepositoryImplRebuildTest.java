@@ -0,0 +1,121 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.AvailableSlotEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.AvailableSlotJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+@DataJpaTest
+@ContextConfiguration(classes = com.github.mehrdadfalahati.reservation.service.dataaccess.config.TestDataAccessConfiguration.class)
+@ComponentScan(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AvailableSlotRepositoryImplRebuildTest {
+
+    @Autowired
+    private AvailableSlotRepositoryImpl availableSlotRepository;
+
+    @MockitoSpyBean
+    private AvailableSlotJpaRepository availableSlotJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldKeepClaimCommittedWhileIndexIsRebuilt() {
+        // Given
+        Instant from = Instant.parse("2100-03-01T00:00:00Z");
+        AvailableSlotEntity entity = availableSlotJpaRepository.save(slotEntity(from));
+        try {
+            doAnswer(invocation -> {
+                List<AvailableSlotEntity> batch = loadBatch(invocation);
+                if (batch.stream().anyMatch(loaded -> loaded.getId().equals(entity.getId()))) {
+                    // the rebuild has read the slot as free; a claim of this instance commits before the swap
+                    AvailableSlot slot = availableSlotRepository.findById(new AvailableSlotId(entity.getId()))
+                            .orElseThrow();
+                    slot.setIsReserved(true);
+                    availableSlotRepository.save(slot);
+                }
+                return batch;
+            }).when(availableSlotJpaRepository).findByIsReservedFalseAndIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+
+            // When
+            availableSlotRepository.rebuildAvailabilityIndex();
+
+            // Then
+            assertTrue(availableSlotJpaRepository.findById(entity.getId()).orElseThrow().getIsReserved());
+            assertTrue(availableSlotRepository.findAvailable(from, null, 10).isEmpty());
+        } finally {
+            availableSlotJpaRepository.deleteById(entity.getId());
+        }
+    }
+
+    @Test
+    void shouldListSlotReleasedWhileIndexIsRebuilt() {
+        // Given
+        Instant from = Instant.parse("2100-03-02T00:00:00Z");
+        AvailableSlotEntity entity = availableSlotJpaRepository.save(slotEntity(from));
+        AvailableSlot slot = availableSlotRepository.findById(new AvailableSlotId(entity.getId())).orElseThrow();
+        slot.setIsReserved(true);
+        availableSlotRepository.save(slot);
+        try {
+            doAnswer(invocation -> {
+                List<AvailableSlotEntity> batch = loadBatch(invocation);
+                Limit limit = invocation.getArgument(1);
+                if (batch.size() < limit.max()) {
+                    // the rebuild has read its last batch without the reserved slot; it is released before the swap
+                    slot.setIsReserved(false);
+                    availableSlotRepository.save(slot);
+                }
+                return batch;
+            }).when(availableSlotJpaRepository).findByIsReservedFalseAndIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+
+            // When
+            availableSlotRepository.rebuildAvailabilityIndex();
+
+            // Then
+            assertEquals(List.of(slot.getId()), availableSlotRepository.findAvailable(from, null, 10).stream()
+                    .map(AvailableSlot::getId)
+                    .toList());
+        } finally {
+            availableSlotJpaRepository.deleteById(entity.getId());
+        }
+    }
+
+    /**
+     * Runs the stubbed batch query on a repository without the spy, as the rebuild would have.
+     */
+    private List<AvailableSlotEntity> loadBatch(InvocationOnMock invocation) {
+        AvailableSlotJpaRepository repository =
+                new JpaRepositoryFactory(entityManager).getRepository(AvailableSlotJpaRepository.class);
+        return repository.findByIsReservedFalseAndIdGreaterThanOrderByIdAsc(
+                invocation.getArgument(0), invocation.getArgument(1));
+    }
+
+    private AvailableSlotEntity slotEntity(Instant startTime) {
+        AvailableSlotEntity entity = new AvailableSlotEntity();
+        entity.setStartTime(startTime);
+        entity.setEndTime(startTime.plusSeconds(1800));
+        entity.setIsReserved(false);
+        return entity;
+    }
+}
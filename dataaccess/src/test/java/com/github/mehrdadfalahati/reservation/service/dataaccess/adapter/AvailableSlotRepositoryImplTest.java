@@ -4,14 +4,21 @@ import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.Availabl
 import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.AvailableSlotJpaRepository;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +34,9 @@ class AvailableSlotRepositoryImplTest {
     @Autowired
     private AvailableSlotJpaRepository availableSlotJpaRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void shouldFindAndLockNearestAvailableSlot() {
         // Given
@@ -54,6 +64,84 @@ class AvailableSlotRepositoryImplTest {
         assertFalse(slot.getIsReserved());
     }
 
+    @Test
+    void shouldLockDistinctSlotsForBatch() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        AvailableSlotEntity early = slotEntity(now.plusSeconds(3600));
+        AvailableSlotEntity late = slotEntity(now.plusSeconds(7200));
+
+        // When
+        List<Optional<AvailableSlot>> result = availableSlotRepository.findAndLockNearestAvailableSlots(
+                List.of(now.plusSeconds(60), now, now));
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(early.getId(), result.get(1).orElseThrow().getId().value());
+        assertEquals(late.getId(), result.get(2).orElseThrow().getId().value());
+        assertFalse(result.get(0).isPresent());
+    }
+
+    @Test
+    void shouldSaveAllSlots() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        AvailableSlot first = availableSlotRepository.findById(new AvailableSlotId(slotEntity(now).getId())).orElseThrow();
+        AvailableSlot second = availableSlotRepository.findById(new AvailableSlotId(slotEntity(now).getId())).orElseThrow();
+        first.setIsReserved(true);
+        second.setIsReserved(true);
+
+        // When
+        List<AvailableSlot> saved = availableSlotRepository.saveAll(List.of(first, second));
+
+        // Then
+        assertEquals(2, saved.size());
+        assertTrue(saved.stream().allMatch(AvailableSlot::getIsReserved));
+    }
+
+    @Test
+    void shouldUpdateClaimedSlotInPlaceWithOneStatement() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        slotEntity(now.plusSeconds(3600));
+        AvailableSlot slot = availableSlotRepository.findAndLockNearestAvailableSlot(now).orElseThrow();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        slot.setIsReserved(true);
+        AvailableSlot saved = availableSlotRepository.save(slot);
+        entityManager.flush();
+
+        // Then
+        assertSame(slot, saved);
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldUpdateClaimedBatchInPlaceWithoutLoading() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        slotEntity(now.plusSeconds(3600));
+        slotEntity(now.plusSeconds(7200));
+        List<AvailableSlot> claimed = availableSlotRepository.findAndLockNearestAvailableSlots(List.of(now, now)).stream()
+                .map(Optional::orElseThrow)
+                .toList();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        claimed.forEach(slot -> slot.setIsReserved(true));
+        availableSlotRepository.saveAll(claimed);
+        entityManager.flush();
+
+        // Then
+        assertEquals(2, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
     @Test
     void shouldNotFindReservedSlots() {
         // Given
@@ -165,4 +253,136 @@ class AvailableSlotRepositoryImplTest {
         // Then
         assertTrue(result.getIsReserved());
     }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private AvailableSlotEntity slotEntity(Instant startTime) {
+        AvailableSlotEntity entity = new AvailableSlotEntity();
+        entity.setStartTime(startTime);
+        entity.setEndTime(startTime.plusSeconds(1800));
+        entity.setIsReserved(false);
+        return availableSlotJpaRepository.save(entity);
+    }
+
+    @Test
+    void shouldListFreeSlotsInRangeFromAvailabilityIndex() {
+        // Given
+        Instant from = Instant.parse("2100-01-01T00:00:00Z");
+        AvailableSlotEntity first = availableSlotJpaRepository.save(slotEntity(from.plusSeconds(3600), false));
+        availableSlotJpaRepository.save(slotEntity(from.plusSeconds(5400), true));
+        AvailableSlotEntity second = availableSlotJpaRepository.save(slotEntity(from.plusSeconds(7200), false));
+        availableSlotJpaRepository.save(slotEntity(from.plusSeconds(86_400), false));
+        availableSlotRepository.rebuildAvailabilityIndex();
+
+        // When
+        List<AvailableSlot> inRange = availableSlotRepository.findAvailable(from, from.plusSeconds(3600 * 12), 10);
+        List<AvailableSlot> limited = availableSlotRepository.findAvailable(from, null, 1);
+
+        // Then
+        assertEquals(List.of(new AvailableSlotId(first.getId()), new AvailableSlotId(second.getId())),
+                inRange.stream().map(AvailableSlot::getId).toList());
+        assertEquals(List.of(new AvailableSlotId(first.getId())), limited.stream().map(AvailableSlot::getId).toList());
+    }
+
+    @Test
+    void shouldReleaseSlotWithoutLoadingIt() {
+        // Given
+        Instant start = Instant.parse("2100-01-01T01:00:00Z");
+        AvailableSlotEntity reserved = availableSlotJpaRepository.save(slotEntity(start, true));
+
+        // When
+        Optional<AvailableSlot> released = availableSlotRepository.release(new AvailableSlotId(reserved.getId()));
+        Optional<AvailableSlot> missing = availableSlotRepository.release(new AvailableSlotId(-1L));
+
+        // Then
+        assertTrue(missing.isEmpty());
+        assertEquals(start, released.orElseThrow().getStartTime());
+        assertEquals(start.plusSeconds(1800), released.get().getEndTime());
+        assertFalse(released.get().getIsReserved());
+        entityManager.clear();
+        assertFalse(availableSlotJpaRepository.findById(reserved.getId()).orElseThrow().getIsReserved());
+    }
+
+    @Test
+    void shouldKeepSlotListedWhenClaimRollsBack() {
+        // Given
+        Instant from = Instant.parse("2100-01-01T00:00:00Z");
+        availableSlotJpaRepository.save(slotEntity(from.plusSeconds(3600), false));
+        availableSlotRepository.rebuildAvailabilityIndex();
+        AvailableSlot slot = availableSlotRepository.findAndLockNearestAvailableSlot(from).orElseThrow();
+
+        // When
+        slot.setIsReserved(true);
+        availableSlotRepository.save(slot);
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        // Then
+        assertEquals(List.of(slot.getId()), availableSlotRepository.findAvailable(from, null, 10).stream()
+                .map(AvailableSlot::getId)
+                .toList());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldUpdateAvailabilityIndexOnCommittedSave() {
+        // Given
+        Instant from = Instant.parse("2100-01-01T00:00:00Z");
+        AvailableSlotEntity entity = availableSlotJpaRepository.save(slotEntity(from.plusSeconds(3600), false));
+        try {
+            availableSlotRepository.rebuildAvailabilityIndex();
+            AvailableSlot slot = availableSlotRepository.findById(new AvailableSlotId(entity.getId())).orElseThrow();
+
+            // When
+            slot.setIsReserved(true);
+            availableSlotRepository.save(slot);
+            List<AvailableSlot> afterReserve = availableSlotRepository.findAvailable(from, null, 10);
+            slot.setIsReserved(false);
+            availableSlotRepository.save(slot);
+            List<AvailableSlot> afterRelease = availableSlotRepository.findAvailable(from, null, 10);
+
+            // Then
+            assertTrue(afterReserve.isEmpty());
+            assertEquals(List.of(slot.getId()), afterRelease.stream().map(AvailableSlot::getId).toList());
+        } finally {
+            availableSlotJpaRepository.deleteById(entity.getId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldInsertSlotsInOneBatchAndListThemOnCommit() {
+        // Given
+        Instant from = Instant.parse("2100-02-01T00:00:00Z");
+        List<AvailableSlot> slots = List.of(
+                AvailableSlot.builder().startTime(from).endTime(from.plusSeconds(1800)).isReserved(false).build(),
+                AvailableSlot.builder().startTime(from.plusSeconds(1800)).endTime(from.plusSeconds(3600)).isReserved(false).build()
+        );
+        availableSlotRepository.rebuildAvailabilityIndex();
+
+        // When
+        int inserted = availableSlotRepository.insertAll(slots);
+        List<AvailableSlot> listed = availableSlotRepository.findAvailable(from, null, 10);
+        try {
+            // Then
+            assertEquals(2, inserted);
+            assertEquals(List.of(from, from.plusSeconds(1800)), listed.stream().map(AvailableSlot::getStartTime).toList());
+            AvailableSlotEntity stored = availableSlotJpaRepository.findById(listed.getFirst().getId().value()).orElseThrow();
+            assertEquals(from, stored.getStartTime());
+            assertEquals(from.plusSeconds(1800), stored.getEndTime());
+            assertFalse(stored.getIsReserved());
+        } finally {
+            listed.forEach(slot -> availableSlotJpaRepository.deleteById(slot.getId().value()));
+        }
+    }
+
+    private AvailableSlotEntity slotEntity(Instant startTime, boolean reserved) {
+        AvailableSlotEntity entity = new AvailableSlotEntity();
+        entity.setStartTime(startTime);
+        entity.setEndTime(startTime.plusSeconds(1800));
+        entity.setIsReserved(reserved);
+        return entity;
+    }
 }
@@ -0,0 +1,99 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.IdempotencyRecord;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = com.github.mehrdadfalahati.reservation.service.dataaccess.config.TestDataAccessConfiguration.class)
+@ComponentScan(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess")
+class IdempotencyKeyRepositoryImplTest {
+
+    private static final UserId USER = new UserId(1L);
+    private static final ReservationId RESERVATION_ID = new ReservationId("01HPQRSAMP1ETST01NPQ3D7T02");
+    private static final IdempotencyRecord RECORD = new IdempotencyRecord(RESERVATION_ID, "f".repeat(64));
+
+    @Autowired
+    private IdempotencyKeyRepositoryImpl idempotencyKeyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void shouldFindRecordOfUnexpiredKey() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        idempotencyKeyRepository.save(USER, "retry-1", RECORD, now, now.minusSeconds(3600));
+
+        // When
+        Optional<IdempotencyRecord> found = idempotencyKeyRepository.find(USER, "retry-1", now.minusSeconds(60));
+        Optional<IdempotencyRecord> expired = idempotencyKeyRepository.find(USER, "retry-1", now.plusSeconds(60));
+        Optional<IdempotencyRecord> otherUser = idempotencyKeyRepository.find(
+                new UserId(2L), "retry-1", now.minusSeconds(60));
+
+        // Then
+        assertEquals(Optional.of(RECORD), found);
+        assertTrue(expired.isEmpty());
+        assertTrue(otherUser.isEmpty());
+    }
+
+    @Test
+    void shouldRejectDuplicateKeyOfSameUser() {
+        // Given
+        Instant now = Instant.now();
+        idempotencyKeyRepository.save(USER, "retry-1", RECORD, now, now.minusSeconds(3600));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> idempotencyKeyRepository.save(USER, "retry-1",
+                        new IdempotencyRecord(new ReservationId("01HPQRSAMP1ETST01NPQ3D7T03"), null), now,
+                        now.minusSeconds(3600))
+        );
+        assertTrue(exception.getMessage().contains("retry-1"));
+    }
+
+    @Test
+    void shouldReplaceExpiredKeyThatIsNotPurgedYet() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        idempotencyKeyRepository.save(USER, "retry-1", RECORD, now.minusSeconds(7200), now.minusSeconds(10800));
+        entityManager.flush();
+        entityManager.clear();
+        IdempotencyRecord replacement = new IdempotencyRecord(new ReservationId("01HPQRSAMP1ETST01NPQ3D7T03"), null);
+
+        // When
+        idempotencyKeyRepository.save(USER, "retry-1", replacement, now, now.minusSeconds(3600));
+
+        // Then
+        assertEquals(Optional.of(replacement), idempotencyKeyRepository.find(USER, "retry-1", now.minusSeconds(3600)));
+    }
+
+    @Test
+    void shouldDeleteKeysCreatedBeforeCutoff() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        idempotencyKeyRepository.save(USER, "old", RECORD, now.minusSeconds(3600), now.minusSeconds(7200));
+        idempotencyKeyRepository.save(USER, "new", RECORD, now, now.minusSeconds(3600));
+
+        // When
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(now.minusSeconds(60));
+
+        // Then
+        assertEquals(1, deleted);
+        assertTrue(idempotencyKeyRepository.find(USER, "old", Instant.EPOCH).isEmpty());
+        assertTrue(idempotencyKeyRepository.find(USER, "new", Instant.EPOCH).isPresent());
+    }
+}
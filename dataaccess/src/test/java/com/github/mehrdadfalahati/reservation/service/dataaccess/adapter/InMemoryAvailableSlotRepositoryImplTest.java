@@ -0,0 +1,123 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.AvailableSlotEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.AvailableSlotJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "reservation.slots.allocation=in-memory")
+@ContextConfiguration(classes = com.github.mehrdadfalahati.reservation.service.dataaccess.config.TestDataAccessConfiguration.class)
+@ComponentScan(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess")
+class InMemoryAvailableSlotRepositoryImplTest {
+
+    @Autowired
+    private InMemoryAvailableSlotRepositoryImpl availableSlotRepository;
+
+    @Autowired
+    private AvailableSlotJpaRepository availableSlotJpaRepository;
+
+    @Test
+    void shouldClaimNearestSlotFromRebuiltIndex() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        availableSlotJpaRepository.save(slotEntity(now.plusSeconds(7200), false));
+        availableSlotJpaRepository.save(slotEntity(now.plusSeconds(3600), false));
+        availableSlotJpaRepository.save(slotEntity(now.plusSeconds(1800), true));
+        availableSlotRepository.rebuildIndex();
+
+        // When
+        Optional<AvailableSlot> result = availableSlotRepository.findAndLockNearestAvailableSlot(now);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(now.plusSeconds(3600), result.get().getStartTime());
+        assertFalse(result.get().getIsReserved());
+    }
+
+    @Test
+    void shouldNotHandOutSameSlotTwice() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        availableSlotJpaRepository.save(slotEntity(now.plusSeconds(3600), false));
+        availableSlotRepository.rebuildIndex();
+
+        // When
+        Optional<AvailableSlot> first = availableSlotRepository.findAndLockNearestAvailableSlot(now);
+        Optional<AvailableSlot> second = availableSlotRepository.findAndLockNearestAvailableSlot(now);
+
+        // Then
+        assertTrue(first.isPresent());
+        assertFalse(second.isPresent());
+    }
+
+    @Test
+    void shouldWriteReservedStateThroughToDatabase() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        AvailableSlotEntity entity = availableSlotJpaRepository.save(slotEntity(now.plusSeconds(3600), false));
+        availableSlotRepository.rebuildIndex();
+        AvailableSlot slot = availableSlotRepository.findAndLockNearestAvailableSlot(now).orElseThrow();
+
+        // When
+        slot.setIsReserved(true);
+        availableSlotRepository.save(slot);
+
+        // Then
+        assertTrue(availableSlotJpaRepository.findById(entity.getId()).orElseThrow().getIsReserved());
+    }
+
+    @Test
+    void shouldListOnlyUnclaimedSlotsAsAvailable() {
+        // Given
+        Instant from = Instant.parse("2100-01-01T00:00:00Z");
+        availableSlotJpaRepository.save(slotEntity(from.plusSeconds(3600), false));
+        availableSlotJpaRepository.save(slotEntity(from.plusSeconds(7200), false));
+        availableSlotRepository.rebuildIndex();
+
+        // When
+        AvailableSlot claimed = availableSlotRepository.findAndLockNearestAvailableSlot(from).orElseThrow();
+        List<AvailableSlot> available = availableSlotRepository.findAvailable(from, null, 10);
+
+        // Then
+        assertEquals(1, available.size());
+        assertNotEquals(claimed.getId(), available.getFirst().getId());
+        assertEquals(from.plusSeconds(7200), available.getFirst().getStartTime());
+    }
+
+    @Test
+    void shouldIndexOnlyUnreservedSlots() {
+        // Given
+        int seeded = availableSlotJpaRepository.findAll().stream()
+                .filter(entity -> !entity.getIsReserved())
+                .toList()
+                .size();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        availableSlotJpaRepository.save(slotEntity(now.plusSeconds(3600), false));
+        availableSlotJpaRepository.save(slotEntity(now.plusSeconds(7200), true));
+
+        // When
+        availableSlotRepository.rebuildIndex();
+
+        // Then
+        assertEquals(seeded + 1, availableSlotRepository.indexedSlotCount());
+    }
+
+    private AvailableSlotEntity slotEntity(Instant startTime, boolean reserved) {
+        AvailableSlotEntity entity = new AvailableSlotEntity();
+        entity.setStartTime(startTime);
+        entity.setEndTime(startTime.plusSeconds(1800));
+        entity.setIsReserved(reserved);
+        return entity;
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.event.OutboxMessage;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.OutboxEventEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.OutboxEventJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = com.github.mehrdadfalahati.reservation.service.dataaccess.config.TestDataAccessConfiguration.class)
+@ComponentScan(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess")
+class OutboxRepositoryImplTest {
+
+    @Autowired
+    private OutboxRepositoryImpl outboxRepository;
+
+    @Autowired
+    private OutboxEventJpaRepository outboxEventJpaRepository;
+
+    @Test
+    void shouldClaimOldestEventsInIdOrder() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        OutboxEventEntity first = outboxEventJpaRepository.save(event("A", now.minusSeconds(30)));
+        OutboxEventEntity second = outboxEventJpaRepository.save(event("B", now.minusSeconds(20)));
+        outboxEventJpaRepository.save(event("C", now.minusSeconds(10)));
+
+        // When
+        List<OutboxMessage> oldest = outboxRepository.claimOldest(2);
+
+        // Then
+        assertEquals(List.of(first.getId(), second.getId()), oldest.stream().map(OutboxMessage::id).toList());
+        assertEquals("A", oldest.get(0).aggregateId());
+        assertEquals(now.minusSeconds(30), oldest.get(0).occurredOn());
+    }
+
+    @Test
+    void shouldDeleteDeliveredEventsAndReportOldestRemaining() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        OutboxEventEntity delivered = outboxEventJpaRepository.save(event("A", now.minusSeconds(30)));
+        outboxEventJpaRepository.save(event("B", now.minusSeconds(20)));
+
+        // When
+        outboxRepository.deleteAll(List.of(delivered.getId()));
+
+        // Then
+        assertEquals(1, outboxRepository.countPending());
+        assertEquals(now.minusSeconds(20), outboxRepository.findOldestOccurredOn().orElseThrow());
+    }
+
+    @Test
+    void shouldReportNoOldestEventWhenEmpty() {
+        assertTrue(outboxRepository.findOldestOccurredOn().isEmpty());
+        assertEquals(0, outboxRepository.countPending());
+    }
+
+    private OutboxEventEntity event(String aggregateId, Instant occurredAt) {
+        return OutboxEventEntity.builder()
+                .aggregateId(aggregateId)
+                .eventType("ReservationCreatedEvent")
+                .payload("{}")
+                .occurredAt(occurredAt)
+                .createdAt(occurredAt)
+                .build();
+    }
+}
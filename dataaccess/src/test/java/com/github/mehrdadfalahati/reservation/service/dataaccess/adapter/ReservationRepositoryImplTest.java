@@ -1,13 +1,22 @@
 package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
 
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.AvailableSlotEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.OutboxEventEntity;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.ReservationEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.ReservationIds;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.AvailableSlotJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.OutboxEventJpaRepository;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.ReservationJpaRepository;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.time.Instant;
@@ -28,6 +37,15 @@ class ReservationRepositoryImplTest {
     @Autowired
     private ReservationJpaRepository reservationJpaRepository;
 
+    @Autowired
+    private OutboxEventJpaRepository outboxEventJpaRepository;
+
+    @Autowired
+    private AvailableSlotJpaRepository availableSlotJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void shouldSaveReservation() {
         // Given
@@ -49,6 +67,241 @@ class ReservationRepositoryImplTest {
         assertEquals(now, saved.getReservedAt());
     }
 
+    @Test
+    void shouldRejectReservationForUnknownUserOnSave() {
+        // Given
+        Reservation reservation = Reservation.create(
+                new UserId(999_999L),
+                new AvailableSlotId(1L),
+                Instant.now()
+        );
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> reservationRepository.save(reservation)
+        );
+        assertEquals("User 999999 not found", exception.getMessage());
+    }
+
+    @Test
+    void shouldSaveAllReservations() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Reservation> reservations = List.of(
+                Reservation.create(new UserId(1L), new AvailableSlotId(1L), now),
+                Reservation.create(new UserId(2L), new AvailableSlotId(2L), now)
+        );
+
+        // When
+        List<Reservation> saved = reservationRepository.saveAll(reservations);
+
+        // Then
+        assertEquals(2, saved.size());
+        assertNotNull(saved.get(0).getId());
+        assertNotNull(saved.get(1).getId());
+        assertNotEquals(saved.get(0).getId(), saved.get(1).getId());
+        assertEquals(new AvailableSlotId(2L), saved.get(1).getAvailableSlotId());
+        assertEquals(
+                List.of(saved.get(0).getId().value(), saved.get(1).getId().value()),
+                outboxEventJpaRepository.findAll().stream().map(OutboxEventEntity::getAggregateId).toList());
+    }
+
+    @Test
+    void shouldSaveAllByPersistingNewAndUpdatingLoadedReservationsInPlace() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Reservation saved = reservationRepository.save(
+                Reservation.create(new UserId(1L), new AvailableSlotId(1L), now));
+        Reservation loaded = reservationRepository.findById(saved.getId()).orElseThrow();
+        loaded.cancel();
+        Reservation created = Reservation.create(new UserId(2L), new AvailableSlotId(2L), now);
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        List<Reservation> savedAll = reservationRepository.saveAll(List.of(loaded, created));
+        entityManager.flush();
+
+        // Then
+        // the new reservation and the outbox events of both
+        assertEquals(3, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // the INSERT and the UPDATE of the reservations, and one INSERT per outbox event (identity ids)
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(ReservationStatus.CANCELLED, savedAll.get(0).getStatus());
+        assertNotNull(savedAll.get(1).getId());
+    }
+
+    @Test
+    void shouldWriteDomainEventsToOutboxWithGeneratedId() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Reservation reservation = Reservation.create(new UserId(1L), new AvailableSlotId(1L), now);
+
+        // When
+        Reservation saved = reservationRepository.save(reservation);
+
+        // Then
+        List<OutboxEventEntity> outbox = outboxEventJpaRepository.findAll();
+        assertEquals(1, outbox.size());
+        assertEquals(saved.getId().value(), outbox.get(0).getAggregateId());
+        assertEquals("ReservationCreatedEvent", outbox.get(0).getEventType());
+        assertTrue(outbox.get(0).getPayload().contains("\"reservationId\":\"" + saved.getId().value() + "\""));
+        assertTrue(reservation.getDomainEvents().isEmpty());
+    }
+
+    @Test
+    void shouldWriteCancellationEventWhenSavingCancelledReservation() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Reservation saved = reservationRepository.save(
+                Reservation.create(new UserId(1L), new AvailableSlotId(1L), now));
+        outboxEventJpaRepository.deleteAll();
+        Reservation loaded = reservationRepository.findById(saved.getId()).orElseThrow();
+
+        // When
+        loaded.cancel();
+        reservationRepository.save(loaded);
+
+        // Then
+        List<OutboxEventEntity> outbox = outboxEventJpaRepository.findAll();
+        assertEquals(1, outbox.size());
+        assertEquals("ReservationCancelledEvent", outbox.get(0).getEventType());
+        assertEquals(saved.getId().value(), outbox.get(0).getAggregateId());
+    }
+
+    @Test
+    void shouldUpdateLoadedReservationInPlaceWithOneUpdate() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Reservation saved = reservationRepository.save(
+                Reservation.create(new UserId(1L), new AvailableSlotId(1L), now));
+        Reservation loaded = reservationRepository.findById(saved.getId()).orElseThrow();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        loaded.cancel();
+        Reservation cancelled = reservationRepository.save(loaded);
+
+        // Then
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // the UPDATE of the reservation and the INSERT of its outbox event
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(ReservationStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(saved.getVersion() + 1, cancelled.getVersion());
+    }
+
+    @Test
+    void shouldRejectSavingStaleReservation() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Reservation saved = reservationRepository.save(
+                Reservation.create(new UserId(1L), new AvailableSlotId(1L), now));
+        Reservation stale = Reservation.builder()
+                .id(saved.getId())
+                .userId(saved.getUserId())
+                .availableSlotId(saved.getAvailableSlotId())
+                .status(ReservationStatus.CANCELLED)
+                .reservedAt(saved.getReservedAt())
+                .cancelledAt(now)
+                .createdAt(saved.getCreatedAt())
+                .updatedAt(now)
+                .version(saved.getVersion() + 1)
+                .build();
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> reservationRepository.save(stale));
+    }
+
+    @Test
+    void shouldCancelOwnActiveReservationWithConditionalUpdate() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ReservationEntity active = reservationJpaRepository.save(reservationEntity(1L, ReservationStatus.ACTIVE, now));
+        outboxEventJpaRepository.deleteAll();
+        ReservationId id = ReservationIds.fromUuid(active.getId());
+        Instant cancelledAt = now.plusSeconds(60);
+
+        // When
+        Optional<Reservation> otherUser = reservationRepository.cancelActive(id, new UserId(2L), cancelledAt);
+        Optional<Reservation> cancelled = reservationRepository.cancelActive(id, new UserId(1L), cancelledAt);
+        Optional<Reservation> again = reservationRepository.cancelActive(id, new UserId(1L), cancelledAt);
+
+        // Then
+        assertTrue(otherUser.isEmpty());
+        assertTrue(again.isEmpty());
+        Reservation reservation = cancelled.orElseThrow();
+        assertEquals(id, reservation.getId());
+        assertEquals(ReservationStatus.CANCELLED, reservation.getStatus());
+        assertEquals(cancelledAt, reservation.getCancelledAt());
+        assertEquals(now, reservation.getReservedAt());
+        assertEquals(new AvailableSlotId(1L), reservation.getAvailableSlotId());
+        assertEquals(1L, reservation.getVersion());
+
+        List<OutboxEventEntity> outbox = outboxEventJpaRepository.findAll();
+        assertEquals(1, outbox.size());
+        assertEquals("ReservationCancelledEvent", outbox.get(0).getEventType());
+        assertTrue(outbox.get(0).getPayload().contains("\"cancelledAt\":\"" + cancelledAt + "\""));
+
+        entityManager.clear();
+        ReservationEntity stored = reservationJpaRepository.findById(active.getId()).orElseThrow();
+        assertEquals(ReservationStatus.CANCELLED, stored.getStatus());
+        assertEquals(cancelledAt, stored.getCancelledAt());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void shouldFindActiveReservationsWithEndedSlotInIdOrder() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        AvailableSlotEntity ended = availableSlotJpaRepository.save(slot(now.minusSeconds(7200)));
+        AvailableSlotEntity upcoming = availableSlotJpaRepository.save(slot(now.plusSeconds(3600)));
+        ReservationEntity first = reservationJpaRepository.save(reservationEntity(ended.getId(), ReservationStatus.ACTIVE, now));
+        ReservationEntity second = reservationJpaRepository.save(reservationEntity(ended.getId(), ReservationStatus.ACTIVE, now));
+        reservationJpaRepository.save(reservationEntity(ended.getId(), ReservationStatus.CANCELLED, now));
+        reservationJpaRepository.save(reservationEntity(upcoming.getId(), ReservationStatus.ACTIVE, now));
+        ReservationId firstId = ReservationIds.fromUuid(first.getId());
+        ReservationId secondId = ReservationIds.fromUuid(second.getId());
+        ReservationId lower = firstId.value().compareTo(secondId.value()) < 0 ? firstId : secondId;
+        ReservationId higher = lower.equals(firstId) ? secondId : firstId;
+
+        // When
+        List<Reservation> firstChunk = reservationRepository.findActiveWithSlotEndedBefore(now, null, 1);
+        List<Reservation> secondChunk = reservationRepository.findActiveWithSlotEndedBefore(
+                now, firstChunk.getFirst().getId(), 10);
+
+        // Then
+        assertEquals(List.of(lower), firstChunk.stream().map(Reservation::getId).toList());
+        assertEquals(List.of(higher), secondChunk.stream().map(Reservation::getId).toList());
+    }
+
+    @Test
+    void shouldMarkOnlyActiveReservationsExpiredInBulk() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ReservationEntity active = reservationJpaRepository.save(reservationEntity(1L, ReservationStatus.ACTIVE, now));
+        ReservationEntity cancelled = reservationJpaRepository.save(reservationEntity(1L, ReservationStatus.CANCELLED, now));
+        entityManager.flush();
+
+        // When
+        int updated = reservationRepository.markExpired(
+                List.of(ReservationIds.fromUuid(active.getId()), ReservationIds.fromUuid(cancelled.getId())), now.plusSeconds(60));
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, updated);
+        ReservationEntity expired = reservationJpaRepository.findById(active.getId()).orElseThrow();
+        assertEquals(ReservationStatus.EXPIRED, expired.getStatus());
+        assertEquals(now.plusSeconds(60), expired.getUpdatedAt());
+        assertEquals(1L, expired.getVersion());
+        assertEquals(ReservationStatus.CANCELLED,
+                reservationJpaRepository.findById(cancelled.getId()).orElseThrow().getStatus());
+    }
+
     @Test
     void shouldFindReservationById() {
         // Given
@@ -63,12 +316,12 @@ class ReservationRepositoryImplTest {
         ReservationEntity saved = reservationJpaRepository.save(entity);
 
         // When
-        Optional<Reservation> result = reservationRepository.findById(new ReservationId(saved.getId()));
+        Optional<Reservation> result = reservationRepository.findById(ReservationIds.fromUuid(saved.getId()));
 
         // Then
         assertTrue(result.isPresent());
         Reservation reservation = result.get();
-        assertEquals(new ReservationId(saved.getId()), reservation.getId());
+        assertEquals(ReservationIds.fromUuid(saved.getId()), reservation.getId());
         assertEquals(ReservationStatus.ACTIVE, reservation.getStatus());
         assertEquals(new UserId(1L), reservation.getUserId());
     }
@@ -153,4 +406,27 @@ class ReservationRepositoryImplTest {
         // Then
         assertTrue(reservations.isEmpty());
     }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private AvailableSlotEntity slot(Instant endTime) {
+        return AvailableSlotEntity.builder()
+                .startTime(endTime.minusSeconds(3600))
+                .endTime(endTime)
+                .isReserved(true)
+                .build();
+    }
+
+    private ReservationEntity reservationEntity(Long slotId, ReservationStatus status, Instant now) {
+        ReservationEntity entity = new ReservationEntity();
+        entity.setUserId(1L);
+        entity.setAvailableSlotId(slotId);
+        entity.setStatus(status);
+        entity.setReservedAt(now);
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        return entity;
+    }
 }
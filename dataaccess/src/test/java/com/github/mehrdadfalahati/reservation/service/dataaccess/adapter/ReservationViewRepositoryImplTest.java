@@ -0,0 +1,101 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.adapter;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.ReservationCriteria;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationView;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.ReservationEntity;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.mapper.ReservationIds;
+import com.github.mehrdadfalahati.reservation.service.dataaccess.repository.ReservationJpaRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = com.github.mehrdadfalahati.reservation.service.dataaccess.config.TestDataAccessConfiguration.class)
+@ComponentScan(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess")
+class ReservationViewRepositoryImplTest {
+
+    @Autowired
+    private ReservationViewRepositoryImpl reservationViewRepository;
+
+    @Autowired
+    private ReservationJpaRepository reservationJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldProjectPageIntoViewsWithoutManagingEntities() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ReservationEntity active = reservationJpaRepository.save(reservation(1L, 1L, ReservationStatus.ACTIVE, now));
+        ReservationEntity cancelled = reservationJpaRepository.save(reservation(1L, 2L, ReservationStatus.CANCELLED, now));
+        reservationJpaRepository.save(reservation(2L, 3L, ReservationStatus.ACTIVE, now));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<ReservationView> views = reservationViewRepository.findByCriteria(
+                ReservationCriteria.builder().userId(new UserId(1L)).limit(10).build());
+
+        // Then
+        assertEquals(Set.of(
+                        new ReservationView(ReservationIds.toUlid(active.getId()), 1L, 1L, ReservationStatus.ACTIVE,
+                                now, null, now, now),
+                        new ReservationView(ReservationIds.toUlid(cancelled.getId()), 1L, 2L, ReservationStatus.CANCELLED,
+                                now, null, now, now)),
+                Set.copyOf(views));
+        assertTrue(views.get(0).id().compareTo(views.get(1).id()) < 0);
+        assertEquals(0, entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal().getNumberOfManagedEntities());
+    }
+
+    @Test
+    void shouldContinueAfterCursorAndApplyFilters() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ReservationEntity first = reservationJpaRepository.save(reservation(1L, 1L, ReservationStatus.ACTIVE, now));
+        reservationJpaRepository.save(reservation(1L, 2L, ReservationStatus.CANCELLED, now));
+        ReservationEntity third = reservationJpaRepository.save(reservation(1L, 3L, ReservationStatus.ACTIVE, now));
+        entityManager.flush();
+
+        // When
+        ReservationCriteria.ReservationCriteriaBuilder activeOnly = ReservationCriteria.builder()
+                .userId(new UserId(1L))
+                .status(ReservationStatus.ACTIVE)
+                .limit(1);
+        List<ReservationView> firstPage = reservationViewRepository.findByCriteria(activeOnly.build());
+        List<ReservationView> secondPage = reservationViewRepository.findByCriteria(
+                activeOnly.afterId(new ReservationId(firstPage.getFirst().id())).limit(10).build());
+
+        // Then
+        assertEquals(1, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertEquals(Set.of(ReservationIds.toUlid(first.getId()), ReservationIds.toUlid(third.getId())),
+                Set.of(firstPage.getFirst().id(), secondPage.getFirst().id()));
+    }
+
+    private ReservationEntity reservation(Long userId, Long slotId, ReservationStatus status, Instant reservedAt) {
+        return ReservationEntity.builder()
+                .userId(userId)
+                .availableSlotId(slotId)
+                .status(status)
+                .reservedAt(reservedAt)
+                .createdAt(reservedAt)
+                .updatedAt(reservedAt)
+                .build();
+    }
+}
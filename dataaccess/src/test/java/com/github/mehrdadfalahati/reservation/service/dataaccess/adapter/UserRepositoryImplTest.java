@@ -7,6 +7,7 @@ import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Email;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Password;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Username;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -30,6 +31,9 @@ class UserRepositoryImplTest {
     @Autowired
     private UserJpaRepository userJpaRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void shouldFindUserById() {
         // Given
@@ -86,4 +90,58 @@ class UserRepositoryImplTest {
         assertNotNull(user.getPassword());
         assertNotNull(user.getCreatedAt());
     }
+
+    @Test
+    void shouldReplacePasswordWhenCurrentPasswordMatches() {
+        // Given
+        UserEntity saved = saveUser("legacyuser", "legacy@example.com", "legacy-password");
+
+        // When
+        boolean replaced = userRepository.replacePassword(new Username("legacyuser"),
+                "legacy-password", new Password("$2a$10$rehashedPassword"));
+        entityManager.clear();
+
+        // Then
+        assertTrue(replaced);
+        assertEquals("$2a$10$rehashedPassword", userJpaRepository.findById(saved.getId()).orElseThrow().getPassword());
+    }
+
+    @Test
+    void shouldReplaceLegacyPasswordShorterThanNewPasswordMinimum() {
+        // Given
+        UserEntity saved = saveUser("shortuser", "short@example.com", "pass");
+
+        // When
+        boolean replaced = userRepository.replacePassword(new Username("shortuser"),
+                "pass", new Password("$2a$10$rehashedPassword"));
+        entityManager.clear();
+
+        // Then
+        assertTrue(replaced);
+        assertEquals("$2a$10$rehashedPassword", userJpaRepository.findById(saved.getId()).orElseThrow().getPassword());
+    }
+
+    @Test
+    void shouldNotReplacePasswordChangedInTheMeantime() {
+        // Given
+        UserEntity saved = saveUser("changeduser", "changed@example.com", "$2a$10$changedPassword");
+
+        // When
+        boolean replaced = userRepository.replacePassword(new Username("changeduser"),
+                "legacy-password", new Password("$2a$10$rehashedPassword"));
+        entityManager.clear();
+
+        // Then
+        assertFalse(replaced);
+        assertEquals("$2a$10$changedPassword", userJpaRepository.findById(saved.getId()).orElseThrow().getPassword());
+    }
+
+    private UserEntity saveUser(String username, String email, String password) {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUsername(username);
+        userEntity.setEmail(email);
+        userEntity.setPassword(password);
+        userEntity.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        return userJpaRepository.saveAndFlush(userEntity);
+    }
 }
@@ -1,11 +1,19 @@
 package com.github.mehrdadfalahati.reservation.service.dataaccess.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess.repository")
 @EntityScan(basePackages = "com.github.mehrdadfalahati.reservation.service.dataaccess.entity")
 public class TestDataAccessConfiguration {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
 }
@@ -0,0 +1,120 @@
+package com.github.mehrdadfalahati.reservation.service.dataaccess.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreeSlotIndexTest {
+
+    private final FreeSlotIndex index = new FreeSlotIndex();
+
+    @Test
+    void shouldClaimNearestSlotAtOrAfterRequestedTime() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        index.addAll(List.of(
+                new FreeSlotIndex.Entry(1L, now.minusSeconds(3600), now),
+                new FreeSlotIndex.Entry(2L, now.plusSeconds(7200), now.plusSeconds(9000)),
+                new FreeSlotIndex.Entry(3L, now.plusSeconds(3600), now.plusSeconds(5400))
+        ));
+
+        // When
+        Optional<FreeSlotIndex.Entry> claimed = index.claimNearest(now);
+
+        // Then
+        assertTrue(claimed.isPresent());
+        assertEquals(3L, claimed.get().id());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void shouldFindFreeSlotsInRangeWithoutClaimingThem() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        index.addAll(List.of(
+                new FreeSlotIndex.Entry(1L, now.minusSeconds(3600), now),
+                new FreeSlotIndex.Entry(2L, now.plusSeconds(3600), now.plusSeconds(5400)),
+                new FreeSlotIndex.Entry(3L, now.plusSeconds(7200), now.plusSeconds(9000)),
+                new FreeSlotIndex.Entry(4L, now.plusSeconds(10800), now.plusSeconds(12600))
+        ));
+
+        // When
+        List<FreeSlotIndex.Entry> inRange = index.findFree(now, now.plusSeconds(10800), 10);
+        List<FreeSlotIndex.Entry> limited = index.findFree(now, null, 1);
+
+        // Then
+        assertEquals(List.of(2L, 3L), inRange.stream().map(FreeSlotIndex.Entry::id).toList());
+        assertEquals(List.of(2L), limited.stream().map(FreeSlotIndex.Entry::id).toList());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNoSlotAfterRequestedTime() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        index.release(new FreeSlotIndex.Entry(1L, now.minusSeconds(3600), now));
+
+        // When
+        Optional<FreeSlotIndex.Entry> claimed = index.claimNearest(now);
+
+        // Then
+        assertFalse(claimed.isPresent());
+    }
+
+    @Test
+    void shouldMakeReleasedSlotClaimableAgain() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        index.release(new FreeSlotIndex.Entry(1L, now, now.plusSeconds(1800)));
+        FreeSlotIndex.Entry claimed = index.claimNearest(now).orElseThrow();
+
+        // When
+        index.release(claimed);
+
+        // Then
+        assertEquals(Optional.of(claimed), index.claimNearest(now));
+    }
+
+    @Test
+    void shouldHandOutEachSlotOnlyOnceUnderConcurrency() throws InterruptedException {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        int slotCount = 200;
+        for (long i = 1; i <= slotCount; i++) {
+            index.release(new FreeSlotIndex.Entry(i, now, now.plusSeconds(1800)));
+        }
+        Set<Long> claimedIds = ConcurrentHashMap.newKeySet();
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                startGate.await();
+                Optional<FreeSlotIndex.Entry> claimed;
+                while ((claimed = index.claimNearest(now)).isPresent()) {
+                    assertTrue(claimedIds.add(claimed.get().id()));
+                }
+                return null;
+            });
+        }
+        startGate.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(slotCount, claimedIds.size());
+        assertEquals(0, index.size());
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.mehrdadfalahati.reservation.service.dataaccess.mapper;
 
+import com.github.f4b6a3.ulid.Ulid;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.ReservationEntity;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
@@ -11,6 +12,7 @@ import org.mapstruct.factory.Mappers;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,7 +25,7 @@ class ReservationDataMapperTest {
         // Given
         Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
         ReservationEntity entity = new ReservationEntity();
-        entity.setId("01HPQR5EXAMPLE");
+        entity.setId(Ulid.from("01HPQR5EXAMP1E0000000000A1").toUuid());
         entity.setUserId(1L);
         entity.setAvailableSlotId(2L);
         entity.setStatus(ReservationStatus.ACTIVE);
@@ -37,7 +39,7 @@ class ReservationDataMapperTest {
 
         // Then
         assertNotNull(reservation);
-        assertEquals(new ReservationId("01HPQR5EXAMPLE"), reservation.getId());
+        assertEquals(new ReservationId("01HPQR5EXAMP1E0000000000A1"), reservation.getId());
         assertEquals(new UserId(1L), reservation.getUserId());
         assertEquals(new AvailableSlotId(2L), reservation.getAvailableSlotId());
         assertEquals(ReservationStatus.ACTIVE, reservation.getStatus());
@@ -53,7 +55,7 @@ class ReservationDataMapperTest {
         // Given
         Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
         Reservation reservation = Reservation.builder()
-                .id(new ReservationId("01HPQR5EXAMPLE"))
+                .id(new ReservationId("01HPQR5EXAMP1E0000000000A1"))
                 .userId(new UserId(1L))
                 .availableSlotId(new AvailableSlotId(2L))
                 .status(ReservationStatus.ACTIVE)
@@ -68,7 +70,7 @@ class ReservationDataMapperTest {
 
         // Then
         assertNotNull(entity);
-        assertEquals("01HPQR5EXAMPLE", entity.getId());
+        assertEquals(Ulid.from("01HPQR5EXAMP1E0000000000A1").toUuid(), entity.getId());
         assertEquals(1L, entity.getUserId());
         assertEquals(2L, entity.getAvailableSlotId());
         assertEquals(ReservationStatus.ACTIVE, entity.getStatus());
@@ -85,7 +87,7 @@ class ReservationDataMapperTest {
         Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
         Instant cancelledAt = now.plusSeconds(3600);
         ReservationEntity entity = new ReservationEntity();
-        entity.setId("01HPQR5CANCELLED");
+        entity.setId(Ulid.from("01HPQR5CANCE1ED00000000001").toUuid());
         entity.setUserId(1L);
         entity.setAvailableSlotId(2L);
         entity.setStatus(ReservationStatus.CANCELLED);
@@ -100,7 +102,7 @@ class ReservationDataMapperTest {
 
         // Then
         assertNotNull(reservation);
-        assertEquals(new ReservationId("01HPQR5CANCELLED"), reservation.getId());
+        assertEquals(new ReservationId("01HPQR5CANCE1ED00000000001"), reservation.getId());
         assertEquals(ReservationStatus.CANCELLED, reservation.getStatus());
         assertEquals(cancelledAt, reservation.getCancelledAt());
         assertEquals(1L, reservation.getVersion());
@@ -113,7 +115,7 @@ class ReservationDataMapperTest {
         // Given
         Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
         ReservationEntity entity = new ReservationEntity();
-        entity.setId("01HPQR5EXPIRED");
+        entity.setId(Ulid.from("01HPQR5EXP1RED000000000001").toUuid());
         entity.setUserId(1L);
         entity.setAvailableSlotId(2L);
         entity.setStatus(ReservationStatus.EXPIRED);
@@ -153,34 +155,34 @@ class ReservationDataMapperTest {
     @Test
     void shouldMapReservationIdValueObject() {
         // Given
-        String id = "01HPQR5TEST";
+        UUID id = Ulid.from("01HPQR5TEST000000000000001").toUuid();
 
         // When
         ReservationId reservationId = mapper.mapReservationId(id);
 
         // Then
         assertNotNull(reservationId);
-        assertEquals("01HPQR5TEST", reservationId.value());
+        assertEquals("01HPQR5TEST000000000000001", reservationId.value());
     }
 
     @Test
-    void shouldMapReservationIdToString() {
+    void shouldMapReservationIdToBinary() {
         // Given
-        ReservationId reservationId = new ReservationId("01HPQR5TEST");
+        ReservationId reservationId = new ReservationId("01HPQR5TEST000000000000001");
 
         // When
-        String id = mapper.mapReservationId(reservationId);
+        UUID id = mapper.mapReservationId(reservationId);
 
         // Then
         assertNotNull(id);
-        assertEquals("01HPQR5TEST", id);
+        assertEquals(Ulid.from("01HPQR5TEST000000000000001").toUuid(), id);
     }
 
     @Test
     void shouldHandleNullReservationId() {
         // When
-        ReservationId reservationId = mapper.mapReservationId((String) null);
-        String id = mapper.mapReservationId((ReservationId) null);
+        ReservationId reservationId = mapper.mapReservationId((UUID) null);
+        UUID id = mapper.mapReservationId((ReservationId) null);
 
         // Then
         assertNull(reservationId);
@@ -238,4 +240,13 @@ class ReservationDataMapperTest {
         assertNotNull(result);
         assertEquals(99L, result);
     }
+
+    @Test
+    void shouldRejectReservationIdThatIsNotUlid() {
+        // Given
+        ReservationId reservationId = new ReservationId("NOT-A-ULID");
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> mapper.mapReservationId(reservationId));
+    }
 }
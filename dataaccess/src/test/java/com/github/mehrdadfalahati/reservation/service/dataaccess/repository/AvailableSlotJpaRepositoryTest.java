@@ -37,7 +37,7 @@ class AvailableSlotJpaRepositoryTest {
         repository.save(slot2);
 
         // When
-        Optional<AvailableSlotEntity> result = repository.findFirstAvailableSlotWithLock(now, false);
+        Optional<AvailableSlotEntity> result = repository.findFirstAvailableSlotWithLock(now);
 
         // Then
         assertTrue(result.isPresent());
@@ -56,7 +56,7 @@ class AvailableSlotJpaRepositoryTest {
         repository.save(reservedSlot);
 
         // When
-        Optional<AvailableSlotEntity> result = repository.findFirstAvailableSlotWithLock(now, false);
+        Optional<AvailableSlotEntity> result = repository.findFirstAvailableSlotWithLock(now);
 
         // Then
         assertFalse(result.isPresent());
@@ -74,7 +74,7 @@ class AvailableSlotJpaRepositoryTest {
         repository.save(pastSlot);
 
         // When
-        Optional<AvailableSlotEntity> result = repository.findFirstAvailableSlotWithLock(now, false);
+        Optional<AvailableSlotEntity> result = repository.findFirstAvailableSlotWithLock(now);
 
         // Then
         assertFalse(result.isPresent());
@@ -104,13 +104,40 @@ class AvailableSlotJpaRepositoryTest {
         repository.save(middleSlot);
 
         // When
-        Optional<AvailableSlotEntity> result = repository.findFirstAvailableSlotWithLock(now, false);
+        Optional<AvailableSlotEntity> result = repository.findFirstAvailableSlotWithLock(now);
 
         // Then
         assertTrue(result.isPresent());
         assertEquals(nearSlot.getStartTime(), result.get().getStartTime());
     }
 
+    @Test
+    void shouldSkipReservedSlotsBeforeNearestFreeSlot() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        for (int i = 1; i <= 3; i++) {
+            AvailableSlotEntity reservedSlot = new AvailableSlotEntity();
+            reservedSlot.setStartTime(now.plusSeconds(i * 600L));
+            reservedSlot.setEndTime(now.plusSeconds(i * 600L + 300));
+            reservedSlot.setIsReserved(true);
+            repository.save(reservedSlot);
+        }
+
+        AvailableSlotEntity freeSlot = new AvailableSlotEntity();
+        freeSlot.setStartTime(now.plusSeconds(3600));
+        freeSlot.setEndTime(now.plusSeconds(5400));
+        freeSlot.setIsReserved(false);
+        repository.save(freeSlot);
+
+        // When
+        Optional<AvailableSlotEntity> result = repository.findFirstAvailableSlotWithLock(now);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(freeSlot.getId(), result.get().getId());
+    }
+
     @Test
     void shouldSaveAndRetrieveAvailableSlot() {
         // Given
@@ -147,4 +174,41 @@ class AvailableSlotJpaRepositoryTest {
         // Then
         assertTrue(updated.getIsReserved());
     }
+
+    @Test
+    void shouldFindFirstAvailableSlotSkipLocked() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        AvailableSlotEntity slot = new AvailableSlotEntity();
+        slot.setStartTime(now.plusSeconds(3600));
+        slot.setEndTime(now.plusSeconds(5400));
+        slot.setIsReserved(false);
+        repository.save(slot);
+
+        // When
+        Optional<AvailableSlotEntity> result = repository.findFirstAvailableSlotSkipLocked(now);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(slot.getStartTime(), result.get().getStartTime());
+    }
+
+    @Test
+    void shouldClaimSlotOnlyWhenStillAvailable() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        AvailableSlotEntity slot = new AvailableSlotEntity();
+        slot.setStartTime(now.plusSeconds(3600));
+        slot.setEndTime(now.plusSeconds(5400));
+        slot.setIsReserved(false);
+        AvailableSlotEntity saved = repository.saveAndFlush(slot);
+
+        // When
+        int firstClaim = repository.claimIfAvailable(saved.getId());
+        int secondClaim = repository.claimIfAvailable(saved.getId());
+
+        // Then
+        assertEquals(1, firstClaim);
+        assertEquals(0, secondClaim);
+    }
 }
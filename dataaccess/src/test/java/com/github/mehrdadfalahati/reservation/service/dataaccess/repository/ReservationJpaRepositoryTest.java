@@ -1,17 +1,22 @@
 package com.github.mehrdadfalahati.reservation.service.dataaccess.repository;
 
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
 import com.github.mehrdadfalahati.reservation.service.dataaccess.entity.ReservationEntity;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -168,7 +173,7 @@ class ReservationJpaRepositoryTest {
     @Test
     void shouldReturnEmptyWhenReservationNotFound() {
         // When
-        Optional<ReservationEntity> found = repository.findById("NON_EXISTENT_ID");
+        Optional<ReservationEntity> found = repository.findById(UlidCreator.getUlid().toUuid());
 
         // Then
         assertFalse(found.isPresent());
@@ -193,4 +198,57 @@ class ReservationJpaRepositoryTest {
         assertNotNull(saved.getId());
         assertEquals(ReservationStatus.EXPIRED, saved.getStatus());
     }
+
+    @Test
+    void shouldPageReservationsByIdAfterCursor() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (long slotId = 1; slotId <= 5; slotId++) {
+            repository.save(reservation(1L, slotId, ReservationStatus.ACTIVE, now));
+        }
+        repository.save(reservation(2L, 6L, ReservationStatus.ACTIVE, now));
+        entityManager.flush();
+
+        // When
+        List<Object[]> firstPage = repository.findPageByUserId(1L, null, null, null, null, Limit.of(3));
+        List<Object[]> secondPage = repository.findPageByUserId(
+                1L, (UUID) firstPage.get(2)[0], null, null, null, Limit.of(3));
+
+        // Then
+        assertEquals(3, firstPage.size());
+        assertEquals(2, secondPage.size());
+        // ids compared as ULID text, whose order is the byte order the database sorts by
+        List<String> ids = new ArrayList<>(firstPage.stream().map(row -> Ulid.from((UUID) row[0]).toString()).toList());
+        ids.addAll(secondPage.stream().map(row -> Ulid.from((UUID) row[0]).toString()).toList());
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertEquals(5, ids.stream().distinct().count());
+    }
+
+    @Test
+    void shouldFilterPageByStatusAndReservedAtRange() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        repository.save(reservation(1L, 1L, ReservationStatus.ACTIVE, now.minusSeconds(7200)));
+        ReservationEntity inRange = repository.save(reservation(1L, 2L, ReservationStatus.ACTIVE, now.minusSeconds(1800)));
+        repository.save(reservation(1L, 3L, ReservationStatus.CANCELLED, now.minusSeconds(1800)));
+        entityManager.flush();
+
+        // When
+        List<Object[]> page = repository.findPageByUserId(
+                1L, null, ReservationStatus.ACTIVE, now.minusSeconds(3600), now, Limit.of(10));
+
+        // Then
+        assertEquals(List.of(inRange.getId()), page.stream().map(row -> row[0]).toList());
+    }
+
+    private ReservationEntity reservation(Long userId, Long slotId, ReservationStatus status, Instant reservedAt) {
+        ReservationEntity reservation = new ReservationEntity();
+        reservation.setUserId(userId);
+        reservation.setAvailableSlotId(slotId);
+        reservation.setStatus(status);
+        reservation.setReservedAt(reservedAt);
+        reservation.setCreatedAt(reservedAt);
+        reservation.setUpdatedAt(reservedAt);
+        return reservation;
+    }
 }
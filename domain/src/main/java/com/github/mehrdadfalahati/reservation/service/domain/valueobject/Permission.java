@@ -2,7 +2,8 @@ package com.github.mehrdadfalahati.reservation.service.domain.valueobject;
 
 public enum Permission {
     RESERVATION_WRITE("reservation:write"),
-    RESERVATION_READ("reservation:read");
+    RESERVATION_READ("reservation:read"),
+    SLOT_WRITE("slot:write");
 
     private final String permissionName;
 
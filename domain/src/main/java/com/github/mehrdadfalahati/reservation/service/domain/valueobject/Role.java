@@ -5,10 +5,12 @@ import java.util.Set;
 
 import static com.github.mehrdadfalahati.reservation.service.domain.valueobject.Permission.RESERVATION_READ;
 import static com.github.mehrdadfalahati.reservation.service.domain.valueobject.Permission.RESERVATION_WRITE;
+import static com.github.mehrdadfalahati.reservation.service.domain.valueobject.Permission.SLOT_WRITE;
 
 
 public enum Role {
-    USER(Set.of(RESERVATION_WRITE, RESERVATION_READ));
+    USER(Set.of(RESERVATION_WRITE, RESERVATION_READ)),
+    ADMIN(Set.of(RESERVATION_WRITE, RESERVATION_READ, SLOT_WRITE));
 
     private final Set<Permission> permissions;
 
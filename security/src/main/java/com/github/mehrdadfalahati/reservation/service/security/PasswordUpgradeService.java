@@ -0,0 +1,90 @@
+package com.github.mehrdadfalahati.reservation.service.security;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.UserRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Password;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Username;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rehashes passwords stored in a legacy or outdated encoding after a successful login, on a single background
+ * thread, so that the login answers without paying for a second hash and the rehash load stays at one core.
+ * <p>
+ * The new hash is written with {@link UserRepository#replacePassword}, which only succeeds while the stored value
+ * is still the one the login verified. A rehash that finds the queue full is dropped and retried on the next login.
+ */
+@Slf4j
+@Service
+public class PasswordUpgradeService implements AutoCloseable {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserSecurityService userSecurityService;
+    private final ThreadPoolExecutor rehasher;
+
+    /**
+     * Users with a rehash queued or running, so that a burst of logins of one user rehashes once.
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public PasswordUpgradeService(UserRepository userRepository,
+                                  PasswordEncoder passwordEncoder,
+                                  UserSecurityService userSecurityService,
+                                  @Value("${security.password.upgrade.queue-capacity:1000}") int queueCapacity) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userSecurityService = userSecurityService;
+        this.rehasher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-rehash-", 0).daemon().factory());
+    }
+
+    /**
+     * Queues a rehash of {@code rawPassword} when {@code storedPassword} is not in the configured encoding.
+     * Must only be called once {@code rawPassword} has been verified against {@code storedPassword}.
+     */
+    public void upgradeIfNeeded(String username, String storedPassword, CharSequence rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(storedPassword) || !pending.add(username)) {
+            return;
+        }
+        String password = rawPassword.toString();
+        try {
+            rehasher.execute(() -> {
+                try {
+                    rehash(username, storedPassword, password);
+                } finally {
+                    pending.remove(username);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(username);
+            log.debug("Password rehash queue full, skipping user {}", username);
+        }
+    }
+
+    @Override
+    public void close() {
+        rehasher.shutdown();
+    }
+
+    private void rehash(String username, String storedPassword, String rawPassword) {
+        try {
+            String newPassword = passwordEncoder.encode(rawPassword);
+            if (userRepository.replacePassword(new Username(username), storedPassword, new Password(newPassword))) {
+                userSecurityService.evictCachedUser(username);
+                log.info("Rehashed password of user {}", username);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not rehash password of user {}", username, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.mehrdadfalahati.reservation.service.security;
+
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password login that hands outdated password encodings to {@link PasswordUpgradeService} once the credentials
+ * are verified. Spring's own {@code UserDetailsPasswordService} hook is deliberately not used: it hashes the new
+ * password on the request thread before the login can answer.
+ */
+public class PasswordUpgradingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final PasswordUpgradeService passwordUpgradeService;
+
+    public PasswordUpgradingAuthenticationProvider(UserDetailsService userDetailsService,
+                                                   PasswordEncoder passwordEncoder,
+                                                   PasswordUpgradeService passwordUpgradeService) {
+        super(userDetailsService);
+        setPasswordEncoder(passwordEncoder);
+        this.passwordUpgradeService = passwordUpgradeService;
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        if (authentication.getCredentials() != null) {
+            passwordUpgradeService.upgradeIfNeeded(user.getUsername(), user.getPassword(),
+                    authentication.getCredentials().toString());
+        }
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+}
@@ -1,30 +1,83 @@
 package com.github.mehrdadfalahati.reservation.service.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.UserRepository;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.User;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Role;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Username;
 import com.github.mehrdadfalahati.reservation.service.security.entity.UserSecurity;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
 public class UserSecurityService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    /**
+     * Principals of recently authenticated users, so that token-authenticated requests do not query the
+     * user table. Entries expire after the configured TTL and must be evicted when a user changes.
+     */
+    private final Cache<String, UserSecurity> principalCache;
+
+    /**
+     * Users granted {@link Role#ADMIN} on top of their stored roles.
+     */
+    private final Set<String> adminUsernames;
+
+    public UserSecurityService(UserRepository userRepository,
+                               @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                               @Value("${security.principal-cache.ttl:PT5M}") Duration ttl,
+                               @Value("${security.admin-usernames:}") List<String> adminUsernames) {
+        this.userRepository = userRepository;
+        this.adminUsernames = Set.copyOf(adminUsernames);
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Always reads the user from the database (used for password login) and refreshes the cached principal.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Optional<User> user = userRepository.findByUsername(new Username(username));
 
-        if (user.isPresent())
-            return new UserSecurity(user.get());
+        if (user.isPresent()) {
+            if (adminUsernames.contains(username)) {
+                user.get().setRoles(Set.of(Role.USER, Role.ADMIN));
+            }
+            UserSecurity principal = new UserSecurity(user.get());
+            principalCache.put(username, principal);
+            return principal;
+        }
 
         throw new UsernameNotFoundException("The user not fund!");
     }
+
+    /**
+     * Resolves the principal of an already authenticated (token bearing) request, from cache when possible.
+     */
+    public UserDetails loadAuthenticatedUser(String username) throws UsernameNotFoundException {
+        UserSecurity cached = principalCache.getIfPresent(username);
+        return cached != null ? cached : loadUserByUsername(username);
+    }
+
+    public void evictCachedUser(String username) {
+        principalCache.invalidate(username);
+    }
+
+    public void evictAllCachedUsers() {
+        principalCache.invalidateAll();
+    }
 }
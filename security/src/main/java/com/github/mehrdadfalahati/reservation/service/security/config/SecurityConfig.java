@@ -1,14 +1,19 @@
 package com.github.mehrdadfalahati.reservation.service.security.config;
 
+import com.github.mehrdadfalahati.reservation.service.security.PasswordUpgradeService;
+import com.github.mehrdadfalahati.reservation.service.security.PasswordUpgradingAuthenticationProvider;
 import com.github.mehrdadfalahati.reservation.service.security.UserSecurityService;
 import com.github.mehrdadfalahati.reservation.service.security.filter.SecurityFilter;
 import com.github.mehrdadfalahati.reservation.service.security.util.LegacyCompatiblePasswordEncoder;
+import com.github.mehrdadfalahati.reservation.service.security.util.OffloadingPasswordEncoder;
+import com.github.mehrdadfalahati.reservation.service.security.util.PasswordHashAlgorithm;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -19,6 +24,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -29,7 +36,8 @@ public class SecurityConfig {
     private final SecurityFilter securityFilter;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
@@ -42,17 +50,16 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userSecurityService);
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder,
+                                                         PasswordUpgradeService passwordUpgradeService) {
+        return new PasswordUpgradingAuthenticationProvider(userSecurityService, passwordEncoder, passwordUpgradeService);
     }
 
     @Bean
@@ -60,8 +67,30 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * The encoder that actually hashes. A bean of its own so that hashing can be observed separately from the
+     * {@link #passwordEncoder} in front of it, which everything else uses.
+     */
+    @Bean
+    public LegacyCompatiblePasswordEncoder passwordHasher(@Value("${security.password.algorithm:bcrypt}") String algorithm,
+                                                          @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+                                                          @Value("${security.password.pbkdf2-iterations:310000}") int pbkdf2Iterations) {
+        return new LegacyCompatiblePasswordEncoder(PasswordHashAlgorithm.from(algorithm), bcryptStrength, pbkdf2Iterations);
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new LegacyCompatiblePasswordEncoder();
+    @Primary
+    public PasswordEncoder passwordEncoder(LegacyCompatiblePasswordEncoder passwordHasher,
+                                           @Value("${security.login.verify-threads:0}") int verifyThreads,
+                                           @Value("${security.login.queue-capacity:64}") int queueCapacity,
+                                           @Value("${security.login.verified-cache.max-size:10000}") long verifiedCacheSize,
+                                           @Value("${security.login.verified-cache.ttl:PT5M}") Duration verifiedCacheTtl) {
+        return new OffloadingPasswordEncoder(
+                passwordHasher,
+                verifyThreads > 0 ? verifyThreads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                verifiedCacheSize,
+                verifiedCacheTtl
+        );
     }
 }
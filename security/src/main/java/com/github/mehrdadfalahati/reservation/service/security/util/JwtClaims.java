@@ -0,0 +1,14 @@
+package com.github.mehrdadfalahati.reservation.service.security.util;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Verified contents of a JWT, produced by a single parse in {@link JwtUtil#parseAndValidate(String)}.
+ */
+public record JwtClaims(String subject, Long userId, Instant expiresAt, Set<String> roles) {
+
+    public JwtClaims {
+        roles = roles != null ? Set.copyOf(roles) : Set.of();
+    }
+}
@@ -2,22 +2,59 @@ package com.github.mehrdadfalahati.reservation.service.security.util;
 
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Password encoder that supports current BCrypt hashes while remaining compatible with
  * legacy plain-text style values that may still exist in seeded databases.
+ * <p>
+ * New hashes are written with the configured {@link PasswordHashAlgorithm} and cost. PBKDF2 hashes carry their
+ * iteration count in a {@code {pbkdf2-sha256:<iterations>}} prefix, so changing the cost never breaks existing
+ * hashes. {@link #upgradeEncoding(String)} reports plain-text values and any hash of another algorithm or cost.
  */
 public class LegacyCompatiblePasswordEncoder implements PasswordEncoder {
 
+    public static final int DEFAULT_BCRYPT_STRENGTH = 10;
+    public static final int DEFAULT_PBKDF2_ITERATIONS = 310_000;
+
     private static final String BCRYPT_PREFIX = "$2a$";
     private static final String BCRYPT_PREFIX_ALT = "$2b$";
     private static final String BCRYPT_PREFIX_STRONG = "$2y$";
+    private static final String PBKDF2_PREFIX = "{pbkdf2-sha256:";
+    private static final String PBKDF2_SUFFIX = "}";
+    private static final int PBKDF2_SALT_LENGTH = 16;
 
-    private final PasswordEncoder delegate = new BCryptPasswordEncoder();
+    private final PasswordHashAlgorithm algorithm;
+    private final int bcryptStrength;
+    private final int pbkdf2Iterations;
+    private final BCryptPasswordEncoder bcrypt;
+    // one encoder per iteration count found in stored hashes; only a handful ever exist
+    private final Map<Integer, Pbkdf2PasswordEncoder> pbkdf2ByIterations = new ConcurrentHashMap<>();
+
+    public LegacyCompatiblePasswordEncoder() {
+        this(PasswordHashAlgorithm.BCRYPT, DEFAULT_BCRYPT_STRENGTH, DEFAULT_PBKDF2_ITERATIONS);
+    }
+
+    public LegacyCompatiblePasswordEncoder(PasswordHashAlgorithm algorithm, int bcryptStrength, int pbkdf2Iterations) {
+        if (pbkdf2Iterations < 1) {
+            throw new IllegalArgumentException("PBKDF2 iterations must be positive");
+        }
+        this.algorithm = algorithm;
+        this.bcryptStrength = bcryptStrength;
+        this.pbkdf2Iterations = pbkdf2Iterations;
+        this.bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+    }
 
     @Override
     public String encode(CharSequence rawPassword) {
-        return delegate.encode(rawPassword);
+        return switch (algorithm) {
+            case BCRYPT -> bcrypt.encode(rawPassword);
+            case PBKDF2 -> PBKDF2_PREFIX + pbkdf2Iterations + PBKDF2_SUFFIX
+                    + pbkdf2(pbkdf2Iterations).encode(rawPassword);
+        };
     }
 
     @Override
@@ -27,7 +64,15 @@ public class LegacyCompatiblePasswordEncoder implements PasswordEncoder {
         }
 
         if (isBcrypt(encodedPassword)) {
-            return delegate.matches(rawPassword, encodedPassword);
+            // the cost is read from the hash, so any strength verifies it
+            return bcrypt.matches(rawPassword, encodedPassword);
+        }
+
+        if (isPbkdf2(encodedPassword)) {
+            int suffix = encodedPassword.indexOf(PBKDF2_SUFFIX);
+            Integer iterations = pbkdf2Iterations(encodedPassword);
+            return iterations != null
+                    && pbkdf2(iterations).matches(rawPassword, encodedPassword.substring(suffix + 1));
         }
 
         // Legacy fallback: direct comparison when value is stored as plain text.
@@ -36,7 +81,27 @@ public class LegacyCompatiblePasswordEncoder implements PasswordEncoder {
 
     @Override
     public boolean upgradeEncoding(String encodedPassword) {
-        return encodedPassword != null && !isBcrypt(encodedPassword);
+        if (encodedPassword == null) {
+            return false;
+        }
+        if (isBcrypt(encodedPassword)) {
+            return algorithm != PasswordHashAlgorithm.BCRYPT || bcryptStrength(encodedPassword) != bcryptStrength;
+        }
+        if (isPbkdf2(encodedPassword)) {
+            Integer iterations = pbkdf2Iterations(encodedPassword);
+            return algorithm != PasswordHashAlgorithm.PBKDF2 || iterations == null || iterations != pbkdf2Iterations;
+        }
+        return true;
+    }
+
+    private Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return pbkdf2ByIterations.computeIfAbsent(iterations, count -> {
+            Pbkdf2PasswordEncoder encoder = new Pbkdf2PasswordEncoder("", PBKDF2_SALT_LENGTH, count,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+            // Base64 keeps the prefixed hash within the 100 characters a stored password may take
+            encoder.setEncodeHashAsBase64(true);
+            return encoder;
+        });
     }
 
     private boolean isBcrypt(String encodedPassword) {
@@ -44,4 +109,29 @@ public class LegacyCompatiblePasswordEncoder implements PasswordEncoder {
                 || encodedPassword.startsWith(BCRYPT_PREFIX_ALT)
                 || encodedPassword.startsWith(BCRYPT_PREFIX_STRONG);
     }
+
+    private boolean isPbkdf2(String encodedPassword) {
+        return encodedPassword.startsWith(PBKDF2_PREFIX);
+    }
+
+    private int bcryptStrength(String encodedPassword) {
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Integer pbkdf2Iterations(String encodedPassword) {
+        int suffix = encodedPassword.indexOf(PBKDF2_SUFFIX);
+        if (suffix < 0) {
+            return null;
+        }
+        try {
+            int iterations = Integer.parseInt(encodedPassword.substring(PBKDF2_PREFIX.length(), suffix));
+            return iterations > 0 ? iterations : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
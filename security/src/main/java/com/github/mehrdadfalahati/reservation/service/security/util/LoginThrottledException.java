@@ -0,0 +1,12 @@
+package com.github.mehrdadfalahati.reservation.service.security.util;
+
+/**
+ * Thrown when password verification is already saturated; the login should be retried later. Deliberately not
+ * an {@code AuthenticationException}, so that the provider manager does not turn it into a failed login.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.mehrdadfalahati.reservation.service.security.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs password verification on a bounded pool, so that at most a fixed number of hashes run at once however many
+ * logins arrive, and rejects logins with {@link LoginThrottledException} once the queue is full. The calling
+ * request thread still blocks until its verification completes: the pool caps the CPU spent on hashing, it does
+ * not free the request threads.
+ * <p>
+ * Successful verifications are remembered for a short time so that repeated logins skip the hash. Entries are
+ * keyed by an HMAC, under a key generated at startup, over the stored hash and the raw password: neither is
+ * kept, failed attempts are never cached, and a changed password has a new stored hash that matches no entry.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor verifier;
+    private final Cache<String, Boolean> verifiedCredentials;
+    private final SecretKeySpec digestKey;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate,
+                                     int threads,
+                                     int queueCapacity,
+                                     long verifiedCacheSize,
+                                     Duration verifiedCacheTtl) {
+        this.delegate = delegate;
+        this.verifier = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-verifier-", 0).daemon().factory());
+        this.verifiedCredentials = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(verifiedCacheTtl)
+                .build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, MAC_ALGORITHM);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        String digest = digest(rawPassword, encodedPassword);
+        if (verifiedCredentials.getIfPresent(digest) != null) {
+            return true;
+        }
+        boolean matches = verify(rawPassword, encodedPassword);
+        if (matches) {
+            verifiedCredentials.put(digest, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        verifier.shutdown();
+    }
+
+    private boolean verify(CharSequence rawPassword, String encodedPassword) {
+        CompletableFuture<Boolean> verification;
+        try {
+            verification = CompletableFuture.supplyAsync(() -> delegate.matches(rawPassword, encodedPassword), verifier);
+        } catch (RejectedExecutionException e) {
+            throw new LoginThrottledException("Too many logins in progress, please retry shortly");
+        }
+        try {
+            return verification.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String digest(CharSequence rawPassword, String encodedPassword) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(digestKey);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(
+                    mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot compute credential digest", e);
+        }
+    }
+}
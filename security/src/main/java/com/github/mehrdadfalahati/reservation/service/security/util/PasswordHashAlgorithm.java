@@ -0,0 +1,21 @@
+package com.github.mehrdadfalahati.reservation.service.security.util;
+
+import java.util.Locale;
+
+/**
+ * Algorithm new password hashes are written with. Stored hashes of the other algorithm keep verifying and are
+ * rehashed on the next successful login.
+ */
+public enum PasswordHashAlgorithm {
+
+    BCRYPT,
+    /**
+     * PBKDF2-HMAC-SHA256 from the JDK: its cost scales linearly with the iteration count, and it needs no
+     * extra dependency.
+     */
+    PBKDF2;
+
+    public static PasswordHashAlgorithm from(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.mehrdadfalahati.reservation.service.security;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.UserRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Password;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Username;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordUpgradeServiceTest {
+
+    private static final String USERNAME = "john_doe";
+    private static final String STORED_PASSWORD = "plainSecret1";
+    private static final String NEW_HASH = "$2a$10$newhashnewhashnewhash";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserSecurityService userSecurityService;
+
+    private PasswordUpgradeService passwordUpgradeService;
+
+    @BeforeEach
+    void setUp() {
+        passwordUpgradeService = new PasswordUpgradeService(userRepository, passwordEncoder, userSecurityService, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordUpgradeService.close();
+    }
+
+    @Test
+    void shouldReplaceOutdatedPasswordAndEvictCachedUser() {
+        // Given
+        when(passwordEncoder.upgradeEncoding(STORED_PASSWORD)).thenReturn(true);
+        when(passwordEncoder.encode("plainSecret1")).thenReturn(NEW_HASH);
+        when(userRepository.replacePassword(new Username(USERNAME), STORED_PASSWORD, new Password(NEW_HASH)))
+                .thenReturn(true);
+
+        // When
+        passwordUpgradeService.upgradeIfNeeded(USERNAME, STORED_PASSWORD, "plainSecret1");
+
+        // Then
+        verify(userSecurityService, timeout(5000)).evictCachedUser(USERNAME);
+    }
+
+    @Test
+    void shouldNotEvictWhenStoredPasswordChangedMeanwhile() {
+        // Given
+        when(passwordEncoder.upgradeEncoding(STORED_PASSWORD)).thenReturn(true);
+        when(passwordEncoder.encode("plainSecret1")).thenReturn(NEW_HASH);
+        when(userRepository.replacePassword(new Username(USERNAME), STORED_PASSWORD, new Password(NEW_HASH)))
+                .thenReturn(false);
+
+        // When
+        passwordUpgradeService.upgradeIfNeeded(USERNAME, STORED_PASSWORD, "plainSecret1");
+
+        // Then
+        verify(userRepository, timeout(5000)).replacePassword(any(), any(), any());
+        verify(userSecurityService, after(200).never()).evictCachedUser(any());
+    }
+
+    @Test
+    void shouldSkipPasswordsAlreadyInConfiguredEncoding() {
+        // Given
+        when(passwordEncoder.upgradeEncoding(NEW_HASH)).thenReturn(false);
+
+        // When
+        passwordUpgradeService.upgradeIfNeeded(USERNAME, NEW_HASH, "plainSecret1");
+
+        // Then
+        verify(passwordEncoder, after(200).never()).encode(any());
+        verifyNoInteractions(userRepository, userSecurityService);
+    }
+
+    @Test
+    void shouldSurviveRepositoryFailures() {
+        // Given
+        when(passwordEncoder.upgradeEncoding(STORED_PASSWORD)).thenReturn(true);
+        when(passwordEncoder.encode("plainSecret1")).thenReturn(NEW_HASH);
+        when(userRepository.replacePassword(any(), any(), any()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(true);
+
+        // When
+        passwordUpgradeService.upgradeIfNeeded(USERNAME, STORED_PASSWORD, "plainSecret1");
+        verify(userRepository, timeout(5000)).replacePassword(any(), any(), any());
+        verify(userSecurityService, after(200).never()).evictCachedUser(any());
+        passwordUpgradeService.upgradeIfNeeded(USERNAME, STORED_PASSWORD, "plainSecret1");
+
+        // Then
+        verify(userSecurityService, timeout(5000)).evictCachedUser(USERNAME);
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.mehrdadfalahati.reservation.service.security;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.out.repository.UserRepository;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.User;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Password;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Role;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Username;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSecurityServiceTest {
+
+    private static final String USERNAME = "john_doe";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSecurityService userSecurityService;
+
+    @BeforeEach
+    void setUp() {
+        userSecurityService = new UserSecurityService(userRepository, 100, Duration.ofMinutes(5), List.of("admin"));
+    }
+
+    @Test
+    void shouldServeAuthenticatedUserFromCacheAfterLogin() {
+        // Given
+        when(userRepository.findByUsername(new Username(USERNAME))).thenReturn(Optional.of(user(USERNAME)));
+        userSecurityService.loadUserByUsername(USERNAME);
+
+        // When
+        UserDetails principal = userSecurityService.loadAuthenticatedUser(USERNAME);
+
+        // Then
+        assertEquals(USERNAME, principal.getUsername());
+        verify(userRepository, times(1)).findByUsername(new Username(USERNAME));
+    }
+
+    @Test
+    void shouldLoadAuthenticatedUserFromDatabaseOnCacheMiss() {
+        // Given
+        when(userRepository.findByUsername(new Username(USERNAME))).thenReturn(Optional.of(user(USERNAME)));
+
+        // When
+        userSecurityService.loadAuthenticatedUser(USERNAME);
+        userSecurityService.loadAuthenticatedUser(USERNAME);
+
+        // Then
+        verify(userRepository, times(1)).findByUsername(new Username(USERNAME));
+    }
+
+    @Test
+    void shouldAlwaysReadDatabaseForPasswordLogin() {
+        // Given
+        when(userRepository.findByUsername(new Username(USERNAME))).thenReturn(Optional.of(user(USERNAME)));
+
+        // When
+        userSecurityService.loadUserByUsername(USERNAME);
+        userSecurityService.loadUserByUsername(USERNAME);
+
+        // Then
+        verify(userRepository, times(2)).findByUsername(new Username(USERNAME));
+    }
+
+    @Test
+    void shouldReloadUserAfterEviction() {
+        // Given
+        when(userRepository.findByUsername(new Username(USERNAME))).thenReturn(Optional.of(user(USERNAME)));
+        userSecurityService.loadAuthenticatedUser(USERNAME);
+
+        // When
+        userSecurityService.evictCachedUser(USERNAME);
+        userSecurityService.loadAuthenticatedUser(USERNAME);
+
+        // Then
+        verify(userRepository, times(2)).findByUsername(new Username(USERNAME));
+    }
+
+    @Test
+    void shouldReloadAllUsersAfterEvictingAll() {
+        // Given
+        when(userRepository.findByUsername(new Username(USERNAME))).thenReturn(Optional.of(user(USERNAME)));
+        when(userRepository.findByUsername(new Username("jane_doe"))).thenReturn(Optional.of(user("jane_doe")));
+        userSecurityService.loadAuthenticatedUser(USERNAME);
+        userSecurityService.loadAuthenticatedUser("jane_doe");
+
+        // When
+        userSecurityService.evictAllCachedUsers();
+        userSecurityService.loadAuthenticatedUser(USERNAME);
+        userSecurityService.loadAuthenticatedUser("jane_doe");
+
+        // Then
+        verify(userRepository, times(2)).findByUsername(new Username(USERNAME));
+        verify(userRepository, times(2)).findByUsername(new Username("jane_doe"));
+    }
+
+    @Test
+    void shouldGrantAdminRoleToConfiguredUsers() {
+        // Given
+        when(userRepository.findByUsername(new Username("admin"))).thenReturn(Optional.of(user("admin")));
+
+        // When
+        UserDetails principal = userSecurityService.loadUserByUsername("admin");
+
+        // Then
+        Set<String> authorities = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        assertTrue(authorities.containsAll(Set.of("ROLE_USER", "ROLE_ADMIN")));
+    }
+
+    @Test
+    void shouldThrowWhenUserDoesNotExist() {
+        // Given
+        when(userRepository.findByUsername(new Username(USERNAME))).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(UsernameNotFoundException.class, () -> userSecurityService.loadAuthenticatedUser(USERNAME));
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .id(new UserId(1L))
+                .username(new Username(username))
+                .password(new Password("P@ssw0rd!1"))
+                .roles(Set.of(Role.USER))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.mehrdadfalahati.reservation.service.security.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long-for-hmac";
+    private static final String OTHER_SECRET = "another-secret-key-that-is-also-at-least-256-bits-long";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000L);
+
+    @Test
+    void shouldParseClaimsOfValidToken() {
+        // Given
+        String token = jwtUtil.generateToken(user("john_doe", "ROLE_USER", "ROLE_ADMIN"), 42L);
+
+        // When
+        Optional<JwtClaims> claims = jwtUtil.parseAndValidate(token);
+
+        // Then
+        assertTrue(claims.isPresent());
+        assertEquals("john_doe", claims.get().subject());
+        assertEquals(42L, claims.get().userId());
+        assertEquals(Set.of("USER", "ADMIN"), claims.get().roles());
+        assertTrue(claims.get().expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void shouldOnlyPutRoleAuthoritiesIntoRolesClaim() {
+        // Given
+        String token = jwtUtil.generateToken(user("john_doe", "ROLE_USER", "SCOPE_read"), 42L);
+
+        // When
+        Optional<JwtClaims> claims = jwtUtil.parseAndValidate(token);
+
+        // Then
+        assertEquals(Set.of("USER"), claims.orElseThrow().roles());
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        // Given
+        String token = new JwtUtil(SECRET, -1_000L).generateToken(user("john_doe", "ROLE_USER"), 42L);
+
+        // When / Then
+        assertTrue(jwtUtil.parseAndValidate(token).isEmpty());
+        assertFalse(jwtUtil.validateToken(token, user("john_doe", "ROLE_USER")));
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        // Given
+        String[] parts = jwtUtil.generateToken(user("john_doe", "ROLE_USER"), 42L).split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"USER\"", "\"ADMIN\"");
+        String tampered = parts[0] + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "." + parts[2];
+
+        // When / Then
+        assertTrue(jwtUtil.parseAndValidate(tampered).isEmpty());
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        // Given
+        String token = new JwtUtil(OTHER_SECRET, 60_000L).generateToken(user("john_doe", "ROLE_USER"), 42L);
+
+        // When / Then
+        assertTrue(jwtUtil.parseAndValidate(token).isEmpty());
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        // When / Then
+        assertTrue(jwtUtil.parseAndValidate("not-a-token").isEmpty());
+        assertTrue(jwtUtil.parseAndValidate("").isEmpty());
+    }
+
+    @Test
+    void shouldValidateTokenOnlyForItsSubject() {
+        // Given
+        String token = jwtUtil.generateToken(user("john_doe", "ROLE_USER"), 42L);
+
+        // When / Then
+        assertTrue(jwtUtil.validateToken(token, user("john_doe", "ROLE_USER")));
+        assertFalse(jwtUtil.validateToken(token, user("jane_doe", "ROLE_USER")));
+    }
+
+    private static UserDetails user(String username, String... authorities) {
+        return new User(username, "unused", Arrays.stream(authorities).map(SimpleGrantedAuthority::new).toList());
+    }
+}
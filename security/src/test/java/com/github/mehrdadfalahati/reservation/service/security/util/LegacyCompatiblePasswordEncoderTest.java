@@ -0,0 +1,116 @@
+package com.github.mehrdadfalahati.reservation.service.security.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegacyCompatiblePasswordEncoderTest {
+
+    private static final int BCRYPT_STRENGTH = 4;
+    private static final int PBKDF2_ITERATIONS = 1_000;
+
+    private final LegacyCompatiblePasswordEncoder bcrypt =
+            new LegacyCompatiblePasswordEncoder(PasswordHashAlgorithm.BCRYPT, BCRYPT_STRENGTH, PBKDF2_ITERATIONS);
+    private final LegacyCompatiblePasswordEncoder pbkdf2 =
+            new LegacyCompatiblePasswordEncoder(PasswordHashAlgorithm.PBKDF2, BCRYPT_STRENGTH, PBKDF2_ITERATIONS);
+
+    @Test
+    void shouldRoundTripBcryptHashes() {
+        // When
+        String encoded = bcrypt.encode("P@ssw0rd!1");
+
+        // Then
+        assertTrue(encoded.startsWith("$2a$04$"));
+        assertTrue(bcrypt.matches("P@ssw0rd!1", encoded));
+        assertFalse(bcrypt.matches("wrong", encoded));
+        assertFalse(bcrypt.upgradeEncoding(encoded));
+    }
+
+    @Test
+    void shouldRoundTripPbkdf2HashesWithIterationPrefix() {
+        // When
+        String encoded = pbkdf2.encode("P@ssw0rd!1");
+
+        // Then
+        assertTrue(encoded.startsWith("{pbkdf2-sha256:1000}"));
+        assertTrue(encoded.length() <= 100);
+        assertTrue(pbkdf2.matches("P@ssw0rd!1", encoded));
+        assertFalse(pbkdf2.matches("wrong", encoded));
+        assertFalse(pbkdf2.upgradeEncoding(encoded));
+    }
+
+    @Test
+    void shouldVerifyPbkdf2HashesWrittenWithAnotherIterationCount() {
+        // Given
+        LegacyCompatiblePasswordEncoder older =
+                new LegacyCompatiblePasswordEncoder(PasswordHashAlgorithm.PBKDF2, BCRYPT_STRENGTH, 500);
+        String encoded = older.encode("P@ssw0rd!1");
+
+        // When / Then
+        assertTrue(pbkdf2.matches("P@ssw0rd!1", encoded));
+        assertTrue(pbkdf2.upgradeEncoding(encoded));
+    }
+
+    @Test
+    void shouldVerifyBcryptHashesOfAnyCostAndUpgradeOtherCosts() {
+        // Given
+        LegacyCompatiblePasswordEncoder stronger =
+                new LegacyCompatiblePasswordEncoder(PasswordHashAlgorithm.BCRYPT, 5, PBKDF2_ITERATIONS);
+        String encoded = stronger.encode("P@ssw0rd!1");
+
+        // When / Then
+        assertTrue(bcrypt.matches("P@ssw0rd!1", encoded));
+        assertTrue(bcrypt.upgradeEncoding(encoded));
+        assertFalse(stronger.upgradeEncoding(encoded));
+    }
+
+    @Test
+    void shouldUpgradeHashesOfTheOtherAlgorithm() {
+        // Given
+        String bcryptHash = bcrypt.encode("P@ssw0rd!1");
+        String pbkdf2Hash = pbkdf2.encode("P@ssw0rd!1");
+
+        // When / Then
+        assertTrue(pbkdf2.matches("P@ssw0rd!1", bcryptHash));
+        assertTrue(bcrypt.matches("P@ssw0rd!1", pbkdf2Hash));
+        assertTrue(pbkdf2.upgradeEncoding(bcryptHash));
+        assertTrue(bcrypt.upgradeEncoding(pbkdf2Hash));
+    }
+
+    @Test
+    void shouldMatchAndUpgradeLegacyPlainText() {
+        // When / Then
+        assertTrue(bcrypt.matches("plainSecret", "plainSecret"));
+        assertFalse(bcrypt.matches("other", "plainSecret"));
+        assertTrue(bcrypt.upgradeEncoding("plainSecret"));
+        assertTrue(pbkdf2.upgradeEncoding("plainSecret"));
+    }
+
+    @Test
+    void shouldRejectMalformedPbkdf2Prefixes() {
+        // Given
+        String hash = pbkdf2.encode("P@ssw0rd!1").substring("{pbkdf2-sha256:1000}".length());
+
+        // When / Then
+        assertFalse(pbkdf2.matches("P@ssw0rd!1", "{pbkdf2-sha256:" + hash));
+        assertFalse(pbkdf2.matches("P@ssw0rd!1", "{pbkdf2-sha256:abc}" + hash));
+        assertFalse(pbkdf2.matches("P@ssw0rd!1", "{pbkdf2-sha256:0}" + hash));
+        assertFalse(pbkdf2.matches("P@ssw0rd!1", "{pbkdf2-sha256:-5}" + hash));
+        assertTrue(pbkdf2.upgradeEncoding("{pbkdf2-sha256:abc}" + hash));
+        assertTrue(pbkdf2.upgradeEncoding("{pbkdf2-sha256:" + hash));
+    }
+
+    @Test
+    void shouldNeitherMatchNorUpgradeNullPassword() {
+        // When / Then
+        assertFalse(bcrypt.matches("P@ssw0rd!1", null));
+        assertFalse(bcrypt.upgradeEncoding(null));
+    }
+
+    @Test
+    void shouldRejectNonPositiveIterations() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> new LegacyCompatiblePasswordEncoder(PasswordHashAlgorithm.PBKDF2, BCRYPT_STRENGTH, 0));
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.mehrdadfalahati.reservation.service.security.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OffloadingPasswordEncoderTest {
+
+    private static final String STORED_HASH = "$2a$10$storedhash";
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private OffloadingPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void shouldSkipDelegateForRecentlyVerifiedCredentials() {
+        // Given
+        encoder = new OffloadingPasswordEncoder(delegate, 2, 10, 100, Duration.ofMinutes(1));
+        when(delegate.matches("secret", STORED_HASH)).thenReturn(true);
+
+        // When
+        boolean first = encoder.matches("secret", STORED_HASH);
+        boolean second = encoder.matches("secret", STORED_HASH);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(delegate, times(1)).matches("secret", STORED_HASH);
+    }
+
+    @Test
+    void shouldNotCacheFailedMatches() {
+        // Given
+        encoder = new OffloadingPasswordEncoder(delegate, 2, 10, 100, Duration.ofMinutes(1));
+        when(delegate.matches("wrong", STORED_HASH)).thenReturn(false);
+
+        // When
+        boolean first = encoder.matches("wrong", STORED_HASH);
+        boolean second = encoder.matches("wrong", STORED_HASH);
+
+        // Then
+        assertFalse(first);
+        assertFalse(second);
+        verify(delegate, times(2)).matches("wrong", STORED_HASH);
+    }
+
+    @Test
+    void shouldVerifyAgainWhenStoredHashChanges() {
+        // Given
+        encoder = new OffloadingPasswordEncoder(delegate, 2, 10, 100, Duration.ofMinutes(1));
+        when(delegate.matches("secret", STORED_HASH)).thenReturn(true);
+        when(delegate.matches("secret", "$2a$10$changedhash")).thenReturn(false);
+        encoder.matches("secret", STORED_HASH);
+
+        // When
+        boolean matches = encoder.matches("secret", "$2a$10$changedhash");
+
+        // Then
+        assertFalse(matches);
+        verify(delegate).matches("secret", "$2a$10$changedhash");
+    }
+
+    @Test
+    void shouldRejectNullCredentialsWithoutHashing() {
+        // Given
+        encoder = new OffloadingPasswordEncoder(delegate, 1, 1, 100, Duration.ofMinutes(1));
+
+        // When / Then
+        assertFalse(encoder.matches(null, STORED_HASH));
+        assertFalse(encoder.matches("secret", null));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void shouldThrottleLoginsOnceQueueIsFull() throws Exception {
+        // Given one verifier thread busy and one verification queued
+        encoder = new OffloadingPasswordEncoder(delegate, 1, 1, 100, Duration.ofMinutes(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.matches(any(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return true;
+        });
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("first", STORED_HASH));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread queuedCaller = Thread.ofPlatform().start(() -> encoder.matches("second", STORED_HASH));
+        awaitBlocked(queuedCaller);
+
+        // When / Then
+        assertThrows(LoginThrottledException.class, () -> encoder.matches("third", STORED_HASH));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        queuedCaller.join(TimeUnit.SECONDS.toMillis(5));
+        verify(delegate, times(2)).matches(any(), anyString());
+    }
+
+    @Test
+    void shouldPropagateDelegateFailures() {
+        // Given
+        encoder = new OffloadingPasswordEncoder(delegate, 1, 1, 100, Duration.ofMinutes(1));
+        when(delegate.matches("secret", STORED_HASH)).thenThrow(new IllegalArgumentException("bad hash"));
+
+        // When / Then
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> encoder.matches("secret", STORED_HASH));
+        assertEquals("bad hash", thrown.getMessage());
+    }
+
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+}
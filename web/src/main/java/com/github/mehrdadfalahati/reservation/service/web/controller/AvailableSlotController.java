@@ -0,0 +1,36 @@
+package com.github.mehrdadfalahati.reservation.service.web.controller;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.AvailableSlotSearchUseCase;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.web.dto.response.AvailableSlotResponse;
+import com.github.mehrdadfalahati.reservation.service.web.mapper.AvailableSlotApiMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/slots")
+@RequiredArgsConstructor
+public class AvailableSlotController {
+
+    private final AvailableSlotSearchUseCase availableSlotSearchUseCase;
+    private final AvailableSlotApiMapper availableSlotApiMapper;
+
+    /**
+     * Free slots starting in {@code [from, to)}, earliest first. Availability is a snapshot: booking a listed
+     * slot can still fail if someone else takes it first.
+     */
+    @GetMapping("/available")
+    public List<AvailableSlotResponse> findAvailableSlots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Integer limit) {
+        List<AvailableSlot> slots = availableSlotSearchUseCase.search(
+                availableSlotApiMapper.toQuery(from, to, limit)
+        );
+        return availableSlotApiMapper.toResponseList(slots);
+    }
+}
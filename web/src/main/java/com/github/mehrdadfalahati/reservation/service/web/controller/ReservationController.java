@@ -3,15 +3,20 @@ package com.github.mehrdadfalahati.reservation.service.web.controller;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCancelUseCase;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCreateUseCase;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationListUseCase;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationView;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
 import com.github.mehrdadfalahati.reservation.service.security.util.SecurityContextUtil;
 import com.github.mehrdadfalahati.reservation.service.web.dto.request.ReservationCreateRequest;
 import com.github.mehrdadfalahati.reservation.service.web.dto.response.ReservationResponse;
 import com.github.mehrdadfalahati.reservation.service.web.mapper.ReservationApiMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -19,16 +24,26 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReservationController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final ReservationCreateUseCase reservationCreateUseCase;
     private final ReservationCancelUseCase reservationCancelUseCase;
     private final ReservationListUseCase reservationListUseCase;
     private final ReservationApiMapper reservationApiMapper;
 
+    /**
+     * Books the nearest free slot. Repeating a request with the same {@value #IDEMPOTENCY_KEY_HEADER} header
+     * returns the reservation the first request created, in its current state, instead of booking another slot;
+     * reusing the key with a different body is answered with 422.
+     */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ReservationResponse createReservation(@RequestBody ReservationCreateRequest request) {
+    public ReservationResponse createReservation(
+            @RequestBody ReservationCreateRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         Reservation reservation = reservationCreateUseCase.create(
-                reservationApiMapper.toCommand(request)
+                reservationApiMapper.toCommand(request, idempotencyKey)
         );
         return reservationApiMapper.toResponse(reservation);
     }
@@ -41,11 +56,25 @@ public class ReservationController {
         return reservationApiMapper.toResponse(reservation);
     }
 
+    /**
+     * Lists the caller's reservations a page at a time, oldest first. When more remain, the id to pass as
+     * {@code cursor} for the next page is returned in the {@value #NEXT_CURSOR_HEADER} header. The page's
+     * {@link ReservationView}s are serialized as they are; they have the fields of {@link ReservationResponse}.
+     */
     @GetMapping
-    public List<ReservationResponse> listReservations() {
-        List<Reservation> reservations = reservationListUseCase.list(
-                reservationApiMapper.toQuery(SecurityContextUtil.getId())
+    public ResponseEntity<List<ReservationView>> listReservations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) ReservationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        ReservationListUseCase.Page page = reservationListUseCase.list(
+                reservationApiMapper.toQuery(SecurityContextUtil.getId(), cursor, limit, status, from, to)
         );
-        return reservationApiMapper.toResponseList(reservations);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().value());
+        }
+        return response.body(page.reservations());
     }
 }
@@ -0,0 +1,10 @@
+package com.github.mehrdadfalahati.reservation.service.web.dto.response;
+
+import java.time.Instant;
+
+public record AvailableSlotResponse(
+        Long id,
+        Instant startTime,
+        Instant endTime
+) {
+}
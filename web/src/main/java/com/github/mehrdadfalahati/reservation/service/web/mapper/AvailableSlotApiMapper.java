@@ -0,0 +1,30 @@
+package com.github.mehrdadfalahati.reservation.service.web.mapper;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.AvailableSlotSearchUseCase;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import com.github.mehrdadfalahati.reservation.service.web.dto.response.AvailableSlotResponse;
+import org.mapstruct.Mapper;
+
+import java.time.Instant;
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface AvailableSlotApiMapper {
+
+    AvailableSlotResponse toResponse(AvailableSlot slot);
+
+    List<AvailableSlotResponse> toResponseList(List<AvailableSlot> slots);
+
+    default AvailableSlotSearchUseCase.Query toQuery(Instant from, Instant to, Integer limit) {
+        return AvailableSlotSearchUseCase.Query.builder()
+                .from(from)
+                .to(to)
+                .limit(limit)
+                .build();
+    }
+
+    default Long map(AvailableSlotId id) {
+        return id != null ? id.value() : null;
+    }
+}
@@ -6,37 +6,49 @@ import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.i
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationId;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.ReservationStatus;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import com.github.mehrdadfalahati.reservation.service.security.util.SecurityContextUtil;
 import com.github.mehrdadfalahati.reservation.service.web.dto.request.ReservationCreateRequest;
 import com.github.mehrdadfalahati.reservation.service.web.dto.response.ReservationResponse;
 import org.mapstruct.Mapper;
 
-import java.util.List;
+import java.time.Instant;
 
 @Mapper(componentModel = "spring")
 public interface ReservationApiMapper {
 
     ReservationResponse toResponse(Reservation reservation);
 
-    List<ReservationResponse> toResponseList(List<Reservation> reservations);
-
-    default ReservationCreateUseCase.Command toCommand(ReservationCreateRequest request) {
+    default ReservationCreateUseCase.Command toCommand(ReservationCreateRequest request, String idempotencyKey) {
         return ReservationCreateUseCase.Command.builder()
                 .userId(new UserId(SecurityContextUtil.getId()))
                 .requestedTime(request.requestedTime())
+                .trustedPrincipal(true)
+                .idempotencyKey(idempotencyKey)
                 .build();
     }
 
     default ReservationCancelUseCase.Command toCommand(String reservationId) {
         return ReservationCancelUseCase.Command.builder()
                 .reservationId(new ReservationId(reservationId))
+                .userId(new UserId(SecurityContextUtil.getId()))
                 .build();
     }
 
-    default ReservationListUseCase.Query toQuery(Long userId) {
+    default ReservationListUseCase.Query toQuery(Long userId,
+                                                 String cursor,
+                                                 Integer limit,
+                                                 ReservationStatus status,
+                                                 Instant from,
+                                                 Instant to) {
         return ReservationListUseCase.Query.builder()
                 .userId(new UserId(userId))
+                .cursor(cursor != null ? new ReservationId(cursor) : null)
+                .limit(limit)
+                .status(status)
+                .from(from)
+                .to(to)
                 .build();
     }
 
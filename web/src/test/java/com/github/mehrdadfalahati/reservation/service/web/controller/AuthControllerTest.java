@@ -8,6 +8,7 @@ import com.github.mehrdadfalahati.reservation.service.domain.valueobject.UserId;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.Username;
 import com.github.mehrdadfalahati.reservation.service.security.entity.UserSecurity;
 import com.github.mehrdadfalahati.reservation.service.security.util.JwtUtil;
+import com.github.mehrdadfalahati.reservation.service.security.util.LoginThrottledException;
 import com.github.mehrdadfalahati.reservation.service.web.dto.request.LoginRequest;
 import com.github.mehrdadfalahati.reservation.service.web.exception.GlobalExceptionHandler;
 import org.junit.jupiter.api.Test;
@@ -28,6 +29,7 @@ import java.util.Set;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -84,6 +86,20 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Invalid username or password"));
     }
 
+    @Test
+    void shouldReturnTooManyRequestsWhenPasswordVerificationSaturated() throws Exception {
+        LoginRequest request = new LoginRequest("testuser", "StrongP@ss1");
+
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new LoginThrottledException("Too many logins in progress, please retry shortly"));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     private UserSecurity createMockUserSecurity(Long userId, String username) {
         return new UserSecurity(User.builder()
                 .id(new UserId(userId))
@@ -0,0 +1,82 @@
+package com.github.mehrdadfalahati.reservation.service.web.controller;
+
+import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.AvailableSlotSearchUseCase;
+import com.github.mehrdadfalahati.reservation.service.domain.entity.AvailableSlot;
+import com.github.mehrdadfalahati.reservation.service.domain.valueobject.AvailableSlotId;
+import com.github.mehrdadfalahati.reservation.service.web.mapper.AvailableSlotApiMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AvailableSlotController.class)
+@Import(AvailableSlotApiMapperImpl.class)
+class AvailableSlotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AvailableSlotSearchUseCase availableSlotSearchUseCase;
+
+    @Test
+    @WithMockUser
+    void shouldListAvailableSlotsInRequestedRange() throws Exception {
+        // Given
+        Instant start = Instant.parse("2100-01-01T10:00:00Z");
+        AvailableSlot slot = AvailableSlot.builder()
+                .id(new AvailableSlotId(7L))
+                .startTime(start)
+                .endTime(start.plusSeconds(1800))
+                .isReserved(false)
+                .build();
+        when(availableSlotSearchUseCase.search(any())).thenReturn(List.of(slot));
+
+        // When & Then
+        mockMvc.perform(get("/api/slots/available")
+                        .param("from", "2100-01-01T00:00:00Z")
+                        .param("to", "2100-01-02T00:00:00Z")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].startTime").value("2100-01-01T10:00:00Z"))
+                .andExpect(jsonPath("$[0].endTime").value("2100-01-01T10:30:00Z"));
+
+        ArgumentCaptor<AvailableSlotSearchUseCase.Query> query = ArgumentCaptor.forClass(AvailableSlotSearchUseCase.Query.class);
+        verify(availableSlotSearchUseCase).search(query.capture());
+        assertEquals(Instant.parse("2100-01-01T00:00:00Z"), query.getValue().from());
+        assertEquals(Instant.parse("2100-01-02T00:00:00Z"), query.getValue().to());
+        assertEquals(10, query.getValue().limit());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldLeaveRangeOpenWhenNotGiven() throws Exception {
+        when(availableSlotSearchUseCase.search(any())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/slots/available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        ArgumentCaptor<AvailableSlotSearchUseCase.Query> query = ArgumentCaptor.forClass(AvailableSlotSearchUseCase.Query.class);
+        verify(availableSlotSearchUseCase).search(query.capture());
+        assertNull(query.getValue().from());
+        assertNull(query.getValue().limit());
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCancelUseCase;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationCreateUseCase;
 import com.github.mehrdadfalahati.reservation.service.aplication.service.ports.in.usecase.ReservationListUseCase;
+import com.github.mehrdadfalahati.reservation.service.aplication.service.view.ReservationView;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.Reservation;
 import com.github.mehrdadfalahati.reservation.service.domain.entity.User;
 import com.github.mehrdadfalahati.reservation.service.domain.valueobject.*;
@@ -11,6 +12,7 @@ import com.github.mehrdadfalahati.reservation.service.security.entity.UserSecuri
 import com.github.mehrdadfalahati.reservation.service.web.dto.request.ReservationCreateRequest;
 import com.github.mehrdadfalahati.reservation.service.web.mapper.ReservationApiMapperImpl;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
@@ -23,11 +25,16 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -69,6 +76,34 @@ class ReservationControllerTest {
                 .andExpect(jsonPath("$.userId").value(1))
                 .andExpect(jsonPath("$.availableSlotId").value(5))
                 .andExpect(jsonPath("$.status").value("ACTIVE"));
+
+        ArgumentCaptor<ReservationCreateUseCase.Command> command = ArgumentCaptor.forClass(ReservationCreateUseCase.Command.class);
+        verify(reservationCreateUseCase).create(command.capture());
+        assertEquals(new UserId(1L), command.getValue().userId());
+        assertTrue(command.getValue().trustedPrincipal());
+        assertNull(command.getValue().idempotencyKey());
+    }
+
+    @Test
+    void shouldPassIdempotencyKeyHeaderToCommand() throws Exception {
+        // Given
+        Reservation reservation = sampleReservation("01HPQRAPIRES1234567890", ReservationStatus.ACTIVE);
+        ReservationCreateRequest request = new ReservationCreateRequest(Instant.parse("2024-12-29T10:00:00Z"));
+
+        when(reservationCreateUseCase.create(any())).thenReturn(reservation);
+
+        // When & Then
+        mockMvc.perform(post("/api/reservations")
+                        .header(ReservationController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                        .with(user(createMockUserSecurity(1L, "testuser")))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        ArgumentCaptor<ReservationCreateUseCase.Command> command = ArgumentCaptor.forClass(ReservationCreateUseCase.Command.class);
+        verify(reservationCreateUseCase).create(command.capture());
+        assertEquals("retry-1", command.getValue().idempotencyKey());
     }
 
     @Test
@@ -89,13 +124,53 @@ class ReservationControllerTest {
     void shouldListReservationsForAuthenticatedUser() throws Exception {
         // Given
         Reservation reservation = sampleReservation("01HPQRLIST111111111111", ReservationStatus.ACTIVE);
-        when(reservationListUseCase.list(any())).thenReturn(List.of(reservation));
+        when(reservationListUseCase.list(any())).thenReturn(
+                new ReservationListUseCase.Page(List.of(ReservationView.of(reservation)), null));
 
         // When & Then
         mockMvc.perform(get("/api/reservations")
                         .with(user(createMockUserSecurity(1L, "testuser"))))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value("01HPQRLIST111111111111"));
+                .andExpect(jsonPath("$[0].id").value("01HPQRLIST111111111111"))
+                .andExpect(jsonPath("$[0].userId").value(1))
+                .andExpect(jsonPath("$[0].availableSlotId").value(5))
+                .andExpect(jsonPath("$[0].status").value("ACTIVE"))
+                .andExpect(header().doesNotExist(ReservationController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldPassPagingParametersAndReturnNextCursor() throws Exception {
+        // Given
+        Reservation reservation = sampleReservation("01HPQRLIST222222222222", ReservationStatus.CANCELLED);
+        when(reservationListUseCase.list(any())).thenReturn(new ReservationListUseCase.Page(
+                List.of(ReservationView.of(reservation)), reservation.getId()));
+
+        // When & Then
+        mockMvc.perform(get("/api/reservations")
+                        .param("cursor", "01HPQRLIST111111111111")
+                        .param("limit", "1")
+                        .param("status", "CANCELLED")
+                        .param("from", "2024-12-01T00:00:00Z")
+                        .with(user(createMockUserSecurity(1L, "testuser"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("01HPQRLIST222222222222"))
+                .andExpect(header().string(ReservationController.NEXT_CURSOR_HEADER, "01HPQRLIST222222222222"));
+
+        ArgumentCaptor<ReservationListUseCase.Query> query = ArgumentCaptor.forClass(ReservationListUseCase.Query.class);
+        verify(reservationListUseCase).list(query.capture());
+        assertEquals(new ReservationId("01HPQRLIST111111111111"), query.getValue().cursor());
+        assertEquals(1, query.getValue().limit());
+        assertEquals(ReservationStatus.CANCELLED, query.getValue().status());
+        assertEquals(Instant.parse("2024-12-01T00:00:00Z"), query.getValue().from());
+        assertNull(query.getValue().to());
+    }
+
+    @Test
+    void shouldReturnBadRequestForUnknownStatusFilter() throws Exception {
+        mockMvc.perform(get("/api/reservations")
+                        .param("status", "UNKNOWN")
+                        .with(user(createMockUserSecurity(1L, "testuser"))))
+                .andExpect(status().isBadRequest());
     }
 
     @Test